@@ -0,0 +1,56 @@
+package dev.danieljones.taskapi.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Task;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+// Request side of create: bean validation of the DTO, then toEntity
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskRequestBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TaskRequestDto request;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        request = new TaskRequestDto();
+        request.setTitle("Write the quarterly report");
+        request.setDescription("Collect numbers from every team and summarise them");
+        request.setPriority(Priority.HIGH);
+        request.setDueDate(LocalDate.of(2026, 3, 31));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return request.toEntity();
+    }
+
+    @Benchmark
+    public Task validateAndToEntity() {
+        Set<ConstraintViolation<TaskRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.toString());
+        }
+        return request.toEntity();
+    }
+}
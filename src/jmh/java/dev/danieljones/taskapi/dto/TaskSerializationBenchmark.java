@@ -0,0 +1,64 @@
+package dev.danieljones.taskapi.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Status;
+import dev.danieljones.taskapi.model.Task;
+import tools.jackson.databind.json.JsonMapper;
+
+// Response side of the list endpoint: entity to DTO mapping, then JSON
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<TaskResponseDto> dtos;
+    private JsonMapper mapper;
+
+    @Setup
+    public void setup() {
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Task " + i, "Description of task number " + i, Priority.values()[i % 3]);
+            task.setId((long) i);
+            task.setStatus(Status.values()[i % 3]);
+            task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            tasks.add(task);
+        }
+        dtos = toDtos();
+        mapper = JsonMapper.builder().build();
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> fromEntity() {
+        return toDtos();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] fromEntityAndSerialize() {
+        return mapper.writeValueAsBytes(toDtos());
+    }
+
+    private List<TaskResponseDto> toDtos() {
+        List<TaskResponseDto> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(TaskResponseDto.fromEntity(task, "benchmark-user"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.danieljones.taskapi.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Token issue as done on login and registration. Verification, cold and
+// cached, is measured by JwtVerificationBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET =
+        "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtTokenProvider provider;
+
+    @Setup
+    public void setup() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000L, 0);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken("benchmark-user");
+    }
+}
@@ -0,0 +1,58 @@
+package dev.danieljones.taskapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// Compares the per-request verification path the filter used to take
+// (validateToken + getUsernameFromToken, each deriving the key and building
+// a parser) with the single-pass verifyAndExtract, cold and with the claims cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+        "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000);
+        uncachedProvider = new JwtTokenProvider(SECRET, 3_600_000L, 0);
+        token = cachedProvider.generateToken("benchmark-user");
+        cachedProvider.verifyAndExtract(token);
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+
+        SecretKey keyAgain = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(keyAgain).build()
+            .parseSignedClaims(token)
+            .getPayload()
+            .getSubject();
+    }
+
+    @Benchmark
+    public String singlePassUncached() {
+        return uncachedProvider.verifyAndExtract(token).map(Claims::getSubject).orElseThrow();
+    }
+
+    @Benchmark
+    public String singlePassCached() {
+        return cachedProvider.verifyAndExtract(token).map(Claims::getSubject).orElseThrow();
+    }
+}
@@ -0,0 +1,58 @@
+package dev.danieljones.taskapi.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Per-request cost of the rate limiter: the bucket alone, and the full
+// lookup + acquire for one hot key and for keys spread over many users.
+// Limits are high enough that nothing is rejected.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private TokenBucket bucket;
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        bucket = new TokenBucket(Integer.MAX_VALUE, Duration.ofSeconds(1), System.nanoTime());
+        limiter = new RateLimiter(
+            Map.of(RateLimiter.Route.TASKS, new RateLimiter.Policy(Integer.MAX_VALUE, Duration.ofSeconds(1))),
+            100_000,
+            new SimpleMeterRegistry()
+        );
+
+        keys = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            keys[i] = "user:benchmark-" + i;
+            limiter.tryAcquire(RateLimiter.Route.TASKS, keys[i]);
+        }
+    }
+
+    @Benchmark
+    public long bucketOnly() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long hotKey() {
+        return limiter.tryAcquire(RateLimiter.Route.TASKS, keys[0]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long manyKeys() {
+        return limiter.tryAcquire(RateLimiter.Route.TASKS, keys[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+}
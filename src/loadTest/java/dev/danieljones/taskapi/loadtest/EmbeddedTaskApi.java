@@ -0,0 +1,80 @@
+package dev.danieljones.taskapi.loadtest;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import dev.danieljones.taskapi.TaskApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Boots the application in-process against an embedded PostgreSQL server, on
+// a random port, with the production migrations and security filter chain.
+// System properties prefixed with loadtest.app. are passed through to the
+// app (prefix removed), e.g. -Dloadtest.app.spring.threads.virtual.enabled=false
+final class EmbeddedTaskApi implements AutoCloseable {
+
+    private static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedTaskApi(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static EmbeddedTaskApi start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 20);
+        properties.put("spring.flyway.locations", "classpath:db/migration/common,classpath:db/migration/{vendor}");
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.jpa.open-in-view", true);
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", 50);
+        properties.put("spring.jpa.properties.hibernate.order_inserts", true);
+        properties.put("spring.jpa.properties.hibernate.order_updates", true);
+        properties.put("spring.threads.virtual.enabled", true);
+        properties.put("server.port", 0);
+        properties.put("jwt.secret", UUID.randomUUID() + "-" + UUID.randomUUID() + "-" + UUID.randomUUID());
+        properties.put("jwt.expiration", 3_600_000);
+        properties.put("logging.level.root", "WARN");
+        // The driver's few users would hit per-user limits long before the app's ceiling
+        properties.put("taskapi.rate-limit.enabled", false);
+        properties.put("taskapi.outbox.file", "build/loadtest/task-events.jsonl");
+
+        System.getProperties().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(APP_PROPERTY_PREFIX)) {
+                properties.put(name.substring(APP_PROPERTY_PREFIX.length()), value);
+            }
+        });
+
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskApiApplication.class)
+                .properties(properties)
+                .run();
+            return new EmbeddedTaskApi(postgres, context);
+        } catch (RuntimeException ex) {
+            postgres.close();
+            throw ex;
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,71 @@
+package dev.danieljones.taskapi.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// Per-operation results of one run, saved as a properties file so a later run
+// can be checked against it (keys: <operation>.throughput, .p99, ...)
+final class LoadTestResults {
+
+    private final Properties values;
+
+    LoadTestResults() {
+        this(new Properties());
+    }
+
+    private LoadTestResults(Properties values) {
+        this.values = values;
+    }
+
+    static LoadTestResults load(Path file) throws IOException {
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            values.load(reader);
+        }
+        return new LoadTestResults(values);
+    }
+
+    void put(String operation, String metric, double value) {
+        values.setProperty(operation + "." + metric, Double.toString(value));
+    }
+
+    Double get(String operation, String metric) {
+        String value = values.getProperty(operation + "." + metric);
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            values.store(writer, "Task API load test results");
+        }
+    }
+
+    // Operations in both runs whose p99 grew, or throughput shrank, by more than maxRegression
+    List<String> regressionsAgainst(LoadTestResults baseline, Iterable<String> operations, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        for (String operation : operations) {
+            Double baseP99 = baseline.get(operation, "p99");
+            Double p99 = get(operation, "p99");
+            if (baseP99 != null && p99 != null && p99 > baseP99 * (1 + maxRegression)) {
+                regressions.add(String.format("%s p99 %.2f ms > baseline %.2f ms", operation, p99, baseP99));
+            }
+
+            Double baseThroughput = baseline.get(operation, "throughput");
+            Double throughput = get(operation, "throughput");
+            if (baseThroughput != null && throughput != null && throughput < baseThroughput * (1 - maxRegression)) {
+                regressions.add(String.format("%s throughput %.1f req/s < baseline %.1f req/s",
+                    operation, throughput, baseThroughput));
+            }
+        }
+        return regressions;
+    }
+}
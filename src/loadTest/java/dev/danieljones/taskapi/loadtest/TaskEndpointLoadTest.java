@@ -0,0 +1,420 @@
+package dev.danieljones.taskapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+// End-to-end load driver for the task API.
+//
+//   ./gradlew loadTest                                  boots the app on an embedded PostgreSQL
+//   ./gradlew loadTest -Dloadtest.baseUrl=http://...    drives an already running instance
+//
+// The driver registers `users` users and seeds `tasks` tasks for each through
+// the batch endpoint. It then keeps `concurrency` clients busy for `duration`
+// (after a `warmup` that isn't measured) with the weighted operation `mix`, and
+// prints throughput and p50/p99/p999 latency per operation. Every request goes
+// through the real security filter chain.
+//
+// Results are written to `results`. If `baseline` names an earlier results
+// file (which must exist), the run fails when any operation's p99 or throughput regresses by more
+// than `maxRegression`, or when more than `maxErrorRate` of requests fail.
+//
+// To compare request execution modes on the embedded app, run once with
+// -Dloadtest.app.spring.threads.virtual.enabled=false and once without.
+public class TaskEndpointLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String PASSWORD = "password123";
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Operation {
+        LOGIN, LIST, FILTER, CREATE, UPDATE, COMPLETE, DELETE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        boolean needsTask() {
+            return this == UPDATE || this == COMPLETE || this == DELETE;
+        }
+    }
+
+    private final String baseUrl;
+    private final int users;
+    private final int tasksPerUser;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final HttpClient client;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    public TaskEndpointLoadTest(String baseUrl, int users, int tasksPerUser, int concurrency,
+                                Duration warmup, Duration duration, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.tasksPerUser = tasksPerUser;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl");
+        EmbeddedTaskApi embedded = null;
+        if (baseUrl == null) {
+            System.out.println("Starting the app on an embedded PostgreSQL");
+            embedded = EmbeddedTaskApi.start();
+            baseUrl = embedded.baseUrl();
+        }
+
+        boolean passed;
+        try {
+            TaskEndpointLoadTest test = new TaskEndpointLoadTest(
+                baseUrl,
+                Integer.getInteger("loadtest.users", 20),
+                Integer.getInteger("loadtest.tasks", 200),
+                Integer.getInteger("loadtest.concurrency", 200),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                parseMix(System.getProperty("loadtest.mix",
+                    "login=2,list=38,filter=20,create=10,update=15,complete=10,delete=5"))
+            );
+            test.run();
+
+            LoadTestResults results = test.results();
+            Path resultsFile = Path.of(System.getProperty("loadtest.results", "build/loadtest/results.properties"));
+            results.save(resultsFile);
+            System.out.println("Results written to " + resultsFile);
+
+            passed = test.check(
+                results,
+                System.getProperty("loadtest.baseline"),
+                Double.parseDouble(System.getProperty("loadtest.maxRegression", "0.2")),
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"))
+            );
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    // e.g. "list=40,create=10"; operations left out are not run
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    public void run() throws Exception {
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            seeded.add(seedUser(i));
+        }
+        System.out.printf("Seeded %d users x %d tasks, running %d clients for %s (+%s warmup)%n",
+            users, tasksPerUser, concurrency, duration, warmup);
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SeededUser user = seeded.get(i % users);
+                List<Long> ownTasks = partition(user.taskIds(), i / users, clientsFor(i % users));
+                clients.submit(() -> clientLoop(user, ownTasks, measureFrom, deadline));
+            }
+        }
+
+        report();
+    }
+
+    // Clients sharing a user work on disjoint task ids, so one client's
+    // delete never turns another client's update into a 404
+    private int clientsFor(int userIndex) {
+        return (concurrency - userIndex + users - 1) / users;
+    }
+
+    private static List<Long> partition(List<Long> ids, int index, int parts) {
+        List<Long> own = new ArrayList<>();
+        for (int i = index; i < ids.size(); i += parts) {
+            own.add(ids.get(i));
+        }
+        return own;
+    }
+
+    private Void clientLoop(SeededUser user, List<Long> taskIds, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            if (operation.needsTask() && taskIds.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+
+            int index = taskIds.isEmpty() ? -1 : random.nextInt(taskIds.size());
+            Long taskId = index >= 0 ? taskIds.get(index) : null;
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = send(request(operation, user, taskId));
+            long elapsed = System.nanoTime() - start;
+
+            int status = response != null ? response.statusCode() : -1;
+            if (start >= measureFrom) {
+                stats.get(operation).record(status, elapsed);
+            }
+
+            if (operation == Operation.CREATE && status == 201) {
+                Matcher matcher = ID.matcher(response.body());
+                if (matcher.find()) {
+                    taskIds.add(Long.parseLong(matcher.group(1)));
+                }
+            } else if (operation == Operation.DELETE && status == 204) {
+                taskIds.remove(index);
+            }
+        }
+        return null;
+    }
+
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private HttpRequest request(Operation operation, SeededUser user, Long taskId) {
+        return switch (operation) {
+            case LOGIN -> json("/api/auth/login", null)
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                    "{\"username\":\"%s\",\"password\":\"%s\"}", user.username(), PASSWORD)))
+                .build();
+            case LIST -> authorized("/api/tasks?limit=50", user).GET().build();
+            case FILTER -> authorized("/api/tasks?status=TODO,IN_PROGRESS&priority=HIGH,MEDIUM&sort=-priority,dueDate", user)
+                .GET().build();
+            case CREATE -> json("/api/tasks", user)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"title\":\"Load test task\",\"description\":\"Created under load\",\"priority\":\"HIGH\"}"))
+                .build();
+            case UPDATE -> json("/api/tasks/" + taskId, user)
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"Updated under load\",\"status\":\"IN_PROGRESS\"}"))
+                .build();
+            case COMPLETE -> authorized("/api/tasks/" + taskId + "/complete", user)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+            case DELETE -> authorized("/api/tasks/" + taskId, user).DELETE().build();
+        };
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private SeededUser seedUser(int index) throws Exception {
+        String username = "load" + System.currentTimeMillis() + "u" + index;
+        String body = String.format(
+            "{\"username\":\"%s\",\"email\":\"%s@example.com\",\"password\":\"%s\"}",
+            username, username, PASSWORD
+        );
+
+        HttpResponse<String> response = client.send(
+            json("/api/auth/register", null).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+
+        SeededUser user = new SeededUser(username, matcher.group(1), new ArrayList<>());
+        for (int created = 0; created < tasksPerUser; created += 1000) {
+            user.taskIds().addAll(seedTasks(user, created, Math.min(1000, tasksPerUser - created)));
+        }
+        return user;
+    }
+
+    private List<Long> seedTasks(SeededUser user, int offset, int count) throws Exception {
+        StringBuilder body = new StringBuilder("{\"operations\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"op\":\"CREATE\",\"task\":{\"title\":\"Load test task ")
+                .append(offset + i)
+                .append("\",\"priority\":\"")
+                .append(i % 3 == 0 ? "HIGH" : i % 3 == 1 ? "MEDIUM" : "LOW")
+                .append("\",\"dueDate\":\"2026-")
+                .append(String.format("%02d", 1 + i % 12))
+                .append("-15\"}}");
+        }
+        body.append("]}");
+
+        HttpResponse<String> response = client.send(
+            json("/api/tasks/batch", user).POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+        }
+
+        // Results repeat the id at item and task level; de-duplicate
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(response.body());
+        while (matcher.find()) {
+            long id = Long.parseLong(matcher.group(1));
+            if (!ids.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private HttpRequest.Builder json(String path, SeededUser user) {
+        HttpRequest.Builder builder = user != null ? authorized(path, user) : plain(path);
+        return builder.header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path, SeededUser user) {
+        return plain(path).header("Authorization", "Bearer " + user.token());
+    }
+
+    private HttpRequest.Builder plain(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private void report() {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%-10s %10s %10s %8s %8s %10s %10s %10s%n",
+            "operation", "requests", "req/s", "errors", "rejected", "p50 ms", "p99 ms", "p999 ms");
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.requests.sum() == 0) {
+                return;
+            }
+            System.out.printf("%-10s %10d %10.1f %8d %8d %10.2f %10.2f %10.2f%n",
+                operation.label(),
+                operationStats.requests.sum(),
+                operationStats.requests.sum() / seconds,
+                operationStats.errors.sum(),
+                operationStats.rejected.sum(),
+                operationStats.percentileMillis(50),
+                operationStats.percentileMillis(99),
+                operationStats.percentileMillis(99.9)
+            );
+        });
+    }
+
+    LoadTestResults results() {
+        double seconds = duration.toMillis() / 1000.0;
+        LoadTestResults results = new LoadTestResults();
+        stats.forEach((operation, operationStats) -> {
+            long requests = operationStats.requests.sum();
+            if (requests == 0) {
+                return;
+            }
+            results.put(operation.label(), "requests", requests);
+            results.put(operation.label(), "throughput", requests / seconds);
+            results.put(operation.label(), "errors", operationStats.errors.sum() + operationStats.rejected.sum());
+            results.put(operation.label(), "p50", operationStats.percentileMillis(50));
+            results.put(operation.label(), "p99", operationStats.percentileMillis(99));
+            results.put(operation.label(), "p999", operationStats.percentileMillis(99.9));
+        });
+        return results;
+    }
+
+    boolean check(LoadTestResults results, String baseline, double maxRegression, double maxErrorRate)
+            throws IOException {
+        List<String> failures = new ArrayList<>();
+
+        long requests = stats.values().stream().mapToLong(s -> s.requests.sum()).sum();
+        long failed = stats.values().stream().mapToLong(s -> s.errors.sum() + s.rejected.sum()).sum();
+        if (requests == 0 || (double) failed / requests > maxErrorRate) {
+            failures.add(String.format("%d of %d requests failed (limit %.1f%%)", failed, requests, maxErrorRate * 100));
+        }
+
+        if (baseline != null && !Files.exists(Path.of(baseline))) {
+            failures.add("baseline " + baseline + " does not exist");
+        } else if (baseline != null) {
+            List<String> operations = mix.keySet().stream().map(Operation::label).toList();
+            failures.addAll(results.regressionsAgainst(LoadTestResults.load(Path.of(baseline)), operations, maxRegression));
+        }
+
+        failures.forEach(failure -> System.out.println("FAIL: " + failure));
+        return failures.isEmpty();
+    }
+
+    private record SeededUser(String username, String token, List<Long> taskIds) {}
+
+    private static class OperationStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+
+        void record(int status, long nanos) {
+            requests.increment();
+            latency.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+            // 503 from the concurrency limits, 429 from the rate limiter
+            if (status == 503 || status == 429) {
+                rejected.increment();
+            } else if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+        }
+
+        double percentileMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.danieljones.taskapi.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Holds a DbConcurrencyLimiter permit for the duration of each API request.
+@Component
+public class DbConcurrencyInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String PERMIT_ATTRIBUTE = DbConcurrencyInterceptor.class.getName() + ".PERMIT";
+    
+    @Autowired
+    private DbConcurrencyLimiter limiter;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        
+        limiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+    
+    // Async handlers give the permit back while they wait; any database work
+    // they do once the result is ready takes its own permit from the limiter
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+    
+    public int availablePermits() {
+        return limiter.availablePermits();
+    }
+    
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+}
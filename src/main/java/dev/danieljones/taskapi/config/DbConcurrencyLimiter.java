@@ -0,0 +1,66 @@
+package dev.danieljones.taskapi.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.danieljones.taskapi.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+
+// Caps how much work can be running against the database at once.
+// With virtual threads there is no worker-pool bound any more, so without this
+// every request would queue inside Hikari and time out together under load.
+// Work that can't get a permit quickly is rejected with 503.
+@Component
+public class DbConcurrencyLimiter {
+    
+    // Defaults to the pool size so permits map one-to-one onto connections
+    @Value("${taskapi.db.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrency;
+    
+    @Value("${taskapi.db.acquire-timeout:500ms}")
+    private Duration acquireTimeout;
+    
+    private Semaphore permits;
+    
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrency, true);
+    }
+    
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Server is busy, please retry", ex);
+        }
+        if (!acquired) {
+            throw new ServiceUnavailableException("Server is busy, please retry");
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    // For database work that runs outside a request's own permit
+    // (async continuations, the authentication filter)
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+    
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
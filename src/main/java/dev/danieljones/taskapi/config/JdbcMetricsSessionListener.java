@@ -0,0 +1,74 @@
+package dev.danieljones.taskapi.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+// Counts and times the JDBC statements each Hibernate session executes. With
+// open-in-view a session spans one request, so this is statements per request,
+// tagged with the matched endpoint pattern. Hibernate creates one instance per
+// session (hibernate.session.events.auto), so it records to the global
+// registry, which Spring Boot adds its registry to.
+public class JdbcMetricsSessionListener implements SessionEventListener {
+    
+    private int statements;
+    private long statementNanos;
+    private long startedAt;
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - startedAt;
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - startedAt;
+    }
+    
+    @Override
+    public void end() {
+        if (statements == 0) {
+            return;
+        }
+        
+        String uri = currentUri();
+        DistributionSummary.builder("taskapi.jdbc.statements")
+            .description("JDBC statements (or batches) executed per request")
+            .tag("uri", uri)
+            .register(Metrics.globalRegistry)
+            .record(statements);
+        Timer.builder("taskapi.jdbc.time")
+            .description("Time spent executing JDBC statements per request")
+            .tag("uri", uri)
+            .register(Metrics.globalRegistry)
+            .record(statementNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    // Sessions outside a request (scheduled jobs) are tagged "none"
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes != null
+            ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+            : null;
+        return pattern != null ? pattern.toString() : "none";
+    }
+}
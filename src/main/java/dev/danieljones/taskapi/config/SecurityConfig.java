@@ -1,6 +1,7 @@
 package dev.danieljones.taskapi.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +16,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import dev.danieljones.taskapi.security.JwtAuthenticationFilter;
 import dev.danieljones.taskapi.security.JwtAuthenticationEntryPoint;
+import dev.danieljones.taskapi.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
@@ -26,9 +29,16 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
+    // Raising the cost is picked up on each user's next login, which re-hashes the password
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
     
     @Bean
@@ -48,7 +58,11 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (SSE streams, async results) finish a request
+                // that was already authorized, and carry no token of their own
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .requestMatchers("/api/tasks/**").authenticated()
                 .anyRequest().authenticated()
             );
@@ -56,6 +70,9 @@ public class SecurityConfig {
         // Add JWT filter before username/password authentication filter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
+        // Rate limiting runs first, so rejected requests cost no user lookup
+        http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
+        
         return http.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package dev.danieljones.taskapi.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private DbConcurrencyInterceptor dbConcurrencyInterceptor;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Exports and imports move at the client's pace, so holding a permit
+        // for the whole request would let a few slow clients use up the permits
+        // every other request needs. Exports are capped separately
+        // (taskapi.export.max-concurrent); imports take a permit per chunk.
+        registry.addInterceptor(dbConcurrencyInterceptor)
+            .addPathPatterns("/api/**")
+            .excludePathPatterns("/api/tasks/export", "/api/tasks/import");
+    }
+}
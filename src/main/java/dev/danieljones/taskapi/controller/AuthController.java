@@ -1,5 +1,7 @@
 package dev.danieljones.taskapi.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,10 +10,11 @@ import org.springframework.web.bind.annotation.*;
 import dev.danieljones.taskapi.dto.LoginRequestDto;
 import dev.danieljones.taskapi.dto.RegisterRequestDto;
 import dev.danieljones.taskapi.dto.AuthResponseDto;
-import dev.danieljones.taskapi.model.User;
 import dev.danieljones.taskapi.security.JwtTokenProvider;
+import dev.danieljones.taskapi.security.RateLimiter;
 import dev.danieljones.taskapi.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -25,39 +28,53 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    private RateLimiter rateLimiter;
+    
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDto> register(@Valid @RequestBody RegisterRequestDto request) {
-        // Create new user
-        User user = userService.registerUser(
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> register(@Valid @RequestBody RegisterRequestDto request) {
+        // Create new user (password hashing happens off the request thread)
+        return userService.registerUser(
             request.getUsername(),
             request.getEmail(),
-            request.getPassword()
-        );
-        
-        // Generate JWT token
-        String token = jwtTokenProvider.generateToken(user.getUsername());
-        
-        // Return token and user info
-        return ResponseEntity.status(HttpStatus.CREATED)
-            .body(new AuthResponseDto(token, user.getUsername(), user.getEmail()));
+            request.getPassword(),
+            request.getTimeZone()
+        ).thenApply(user -> {
+            // Generate JWT token
+            String token = jwtTokenProvider.generateToken(user.getUsername());
+            
+            // Return token and user info
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new AuthResponseDto(token, user.getUsername(), user.getEmail()));
+        });
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request) {
-        // Find user by username
-        User user = userService.findByUsername(request.getUsername());
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> login(
+            @Valid @RequestBody LoginRequestDto request,
+            HttpServletRequest httpRequest) {
         
-        // Validate password
-        if (!userService.validatePassword(request.getPassword(), user.getPassword())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(new AuthResponseDto(null, null, null, "Invalid credentials"));
-        }
-        
-        // Generate JWT token
-        String token = jwtTokenProvider.generateToken(user.getUsername());
+        // Failed attempts per username and client IP: guessing one account's
+        // password is slow, but nobody else can lock its owner out, and
+        // successful logins never count
+        String attemptKey = request.getUsername() + "|" + httpRequest.getRemoteAddr();
+        rateLimiter.checkAvailable(RateLimiter.Route.LOGIN_USER, attemptKey);
         
-        // Return token and user info
-        return ResponseEntity.ok(new AuthResponseDto(token, user.getUsername(), user.getEmail()));
+        // Validate password (off the request thread)
+        return userService.authenticate(request.getUsername(), request.getPassword())
+            .thenApply(authenticated -> authenticated
+                .map(user -> {
+                    // Generate JWT token
+                    String token = jwtTokenProvider.generateToken(user.getUsername());
+                    
+                    // Return token and user info
+                    return ResponseEntity.ok(new AuthResponseDto(token, user.getUsername(), user.getEmail()));
+                })
+                .orElseGet(() -> {
+                    rateLimiter.tryAcquire(RateLimiter.Route.LOGIN_USER, attemptKey);
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new AuthResponseDto(null, null, null, "Invalid credentials"));
+                }));
     }
     
     @GetMapping("/verify")
@@ -69,12 +86,9 @@ public class AuthController {
         
         String token = authHeader.substring(7);
         
-        if (jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            return ResponseEntity.ok("Token is valid for user: " + username);
-        }
-        
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-            .body("Invalid or expired token");
+        return jwtTokenProvider.verifyAndExtract(token)
+            .map(claims -> ResponseEntity.ok("Token is valid for user: " + claims.getSubject()))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body("Invalid or expired token"));
     }
 }
\ No newline at end of file
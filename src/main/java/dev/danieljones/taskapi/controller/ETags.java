@@ -0,0 +1,75 @@
+package dev.danieljones.taskapi.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import dev.danieljones.taskapi.exception.PreconditionFailedException;
+
+// ETag helpers for conditional GETs on task resources
+final class ETags {
+    
+    private ETags() {}
+    
+    // Strong ETag for a single task: its optimistic-locking version
+    static String forTask(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    // Expected version from an If-Match header; null means no precondition ("*" or absent).
+    // If-Match uses strong comparison, so weak or malformed tags can never match.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single task ETag");
+        }
+        
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match must be a single task ETag", ex);
+        }
+    }
+    
+    // Weak ETag for a list response: the user's list fingerprint plus anything else
+    // that shapes the body (the query string)
+    static String forList(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('|');
+        }
+        
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+    
+    // If-None-Match uses weak comparison, so W/ prefixes are ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        
+        String target = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
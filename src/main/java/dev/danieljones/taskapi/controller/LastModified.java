@@ -0,0 +1,40 @@
+package dev.danieljones.taskapi.controller;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+// Last-Modified helpers for conditional GETs on task resources
+final class LastModified {
+    
+    private LastModified() {}
+    
+    // Timestamps are stored as LocalDateTime in the JVM zone. HTTP dates only
+    // carry whole seconds, so the fraction is dropped before comparing.
+    static Instant of(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+    
+    // If-Modified-Since is only evaluated when there is no If-None-Match,
+    // and an unparseable date is ignored
+    static boolean notModifiedSince(String ifModifiedSince, String ifNoneMatch, Instant lastModified) {
+        if (ifNoneMatch != null || ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                .toInstant();
+            return !lastModified.isAfter(since);
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
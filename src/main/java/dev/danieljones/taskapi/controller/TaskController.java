@@ -1,146 +1,582 @@
 package dev.danieljones.taskapi.controller;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import dev.danieljones.taskapi.config.DbConcurrencyLimiter;
+import dev.danieljones.taskapi.dto.BatchOperationDto;
+import dev.danieljones.taskapi.dto.BatchOperationType;
+import dev.danieljones.taskapi.dto.BatchResponseDto;
+import dev.danieljones.taskapi.dto.BatchResultDto;
+import dev.danieljones.taskapi.dto.BatchTaskRequestDto;
+import dev.danieljones.taskapi.dto.ImportErrorDto;
+import dev.danieljones.taskapi.dto.ImportResponseDto;
+import dev.danieljones.taskapi.dto.PageCursor;
+import dev.danieljones.taskapi.dto.PageResponseDto;
+import dev.danieljones.taskapi.dto.SearchCursor;
+import dev.danieljones.taskapi.dto.SyncToken;
+import dev.danieljones.taskapi.dto.TaskChangesDto;
 import dev.danieljones.taskapi.dto.TaskRequestDto;
 import dev.danieljones.taskapi.dto.TaskResponseDto;
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+import dev.danieljones.taskapi.exception.ServiceUnavailableException;
 import dev.danieljones.taskapi.model.Task;
-import dev.danieljones.taskapi.model.User;
 import dev.danieljones.taskapi.model.Status;
 import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.TaskTombstone;
+import dev.danieljones.taskapi.repository.TaskListVersion;
+import dev.danieljones.taskapi.repository.TaskSummary;
+import dev.danieljones.taskapi.repository.TaskVersion;
+import dev.danieljones.taskapi.service.TaskFilter;
 import dev.danieljones.taskapi.service.TaskService;
-import dev.danieljones.taskapi.service.UserService;
-import dev.danieljones.taskapi.security.JwtTokenProvider;
+import dev.danieljones.taskapi.security.UserPrincipal;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.PersistenceException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "*")
 public class TaskController {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private TaskService taskService;
     
     @Autowired
-    private UserService userService;
+    private TaskStreamBroker taskStreamBroker;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private DbConcurrencyLimiter dbConcurrencyLimiter;
+    
+    @Value("${taskapi.batch.max-operations:10000}")
+    private int maxBatchOperations;
     
-    // Get all tasks for the authenticated user with optional filters
+    // Each running export holds a database connection until its download ends
+    @Value("${taskapi.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+    
+    @Value("${taskapi.import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${taskapi.import.max-reported-errors:1000}")
+    private int maxReportedImportErrors;
+    
+    private Semaphore exportPermits;
+    
+    @PostConstruct
+    void init() {
+        exportPermits = new Semaphore(maxConcurrentExports);
+    }
+    
+    // Get all tasks for the authenticated user. Filters combine freely:
+    // status and priority take several values (status=TODO,IN_PROGRESS),
+    // dueFrom/dueTo bound the due date, and sort takes keys like -priority,dueDate.
+    // Passing cursor, limit or fields switches to a keyset-paginated response
+    // ordered by id. The list ETag comes from a count/max(updated_at) query,
+    // so a matching If-None-Match gets a 304 before any task is loaded.
+    // Last-Modified is the user's latest write or delete. It isn't sent for
+    // overdue=true, whose results change at midnight without any write, so
+    // there If-Modified-Since is ignored and only the ETag revalidates.
     @GetMapping
-    public ResponseEntity<List<TaskResponseDto>> getAllTasks(
-            @RequestHeader("Authorization") String authHeader,
-            @RequestParam(required = false) Status status,
-            @RequestParam(required = false) Priority priority,
-            @RequestParam(required = false, defaultValue = "false") boolean overdue) {
-        
-        // Extract username from token
-        String token = authHeader.substring(7); // Remove "Bearer "
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
+    public ResponseEntity<?> getAllTasks(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) Set<Status> status,
+            @RequestParam(required = false) Set<Priority> priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false, defaultValue = "false") boolean overdue,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
+            HttpServletRequest request) {
+        
+        TaskFilter filter = new TaskFilter(
+            status != null ? status : Set.of(),
+            priority != null ? priority : Set.of(),
+            dueFrom, dueTo, overdue
         );
+        Sort order = TaskSorts.parse(sort);
+        boolean paged = cursor != null || limit != null || fields != null;
+        if (paged && order.isSorted()) {
+            throw new InvalidTaskException("sort can't be combined with cursor, limit or fields");
+        }
+        
+        TaskListVersion version = taskService.getTaskListVersion(principal.getId());
+        String etag = ETags.forList(
+            principal.getId(), version.getTotal(), version.getLastUpdated(), version.getOverdue(),
+            request.getQueryString()
+        );
+        Instant lastModified = overdue ? null : LastModified.of(version.getLastModified());
+        
+        if (ETags.matches(ifNoneMatch, etag)
+                || LastModified.notModifiedSince(ifModifiedSince, ifNoneMatch, lastModified)) {
+            return validators(HttpStatus.NOT_MODIFIED, etag, lastModified).build();
+        }
+        
+        if (paged) {
+            return validators(HttpStatus.OK, etag, lastModified)
+                .body(getTaskPage(principal, filter, cursor, limit, fields));
+        }
+        
+        List<TaskResponseDto> response = taskService.getUserTasksFiltered(principal.getId(), filter, order)
+            .stream()
+            .map(task -> TaskResponseDto.fromEntity(task, principal.getUsername()))
+            .collect(Collectors.toList());
+        
+        return validators(HttpStatus.OK, etag, lastModified).body(response);
+    }
+    
+    private static ResponseEntity.BodyBuilder validators(HttpStatus status, String etag, Instant lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).eTag(etag);
+        return lastModified != null ? builder.lastModified(lastModified) : builder;
+    }
+    
+    private PageResponseDto<?> getTaskPage(UserPrincipal principal, TaskFilter filter,
+                                           String cursor, Integer limit, String fields) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidTaskException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
         
-        List<Task> tasks;
+        Slice<TaskSummary> page = taskService.getUserTasksPage(
+            principal.getId(), filter, PageCursor.decode(cursor), pageSize
+        );
+        
+        List<TaskSummary> rows = page.getContent();
+        String nextCursor = page.hasNext()
+            ? PageCursor.encode(rows.get(rows.size() - 1).getId())
+            : null;
+        
+        List<TaskResponseDto> items = rows.stream()
+            .map(row -> TaskResponseDto.fromSummary(row, principal.getUsername()))
+            .collect(Collectors.toList());
+        
+        if (fields == null) {
+            return new PageResponseDto<>(items, nextCursor);
+        }
+        
+        Set<String> selected = TaskResponseDto.parseFields(fields);
+        List<Map<String, Object>> projected = items.stream()
+            .map(item -> item.toFieldMap(selected))
+            .collect(Collectors.toList());
+        return new PageResponseDto<>(projected, nextCursor);
+    }
+    
+    // Search the user's tasks by words in the title or description. Each word
+    // matches as a prefix; results are ranked and paginated with cursor.
+    @GetMapping("/search")
+    public ResponseEntity<PageResponseDto<TaskResponseDto>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidTaskException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        TaskService.SearchResult result = taskService.searchTasks(
+            principal.getId(), q, SearchCursor.decode(cursor), pageSize
+        );
+        
+        List<TaskResponseDto> items = result.tasks().stream()
+            .map(task -> TaskResponseDto.fromEntity(task, principal.getUsername()))
+            .collect(Collectors.toList());
+        String nextCursor = result.next() != null ? result.next().encode() : null;
+        
+        return ResponseEntity.ok(new PageResponseDto<>(items, nextCursor));
+    }
+    
+    // Download all of the user's tasks as CSV or NDJSON. Rows are written to
+    // the response as they come off the database cursor, so memory use is the
+    // same for ten tasks or a million. The cursor keeps one connection busy
+    // for as long as the client takes to download, so at most
+    // export.max-concurrent exports run at once; further ones get 503.
+    @GetMapping("/export")
+    public void exportTasks(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletResponse response) throws IOException {
+        
+        TaskFileFormat fileFormat = TaskFileFormat.parse(format);
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports running, please retry");
+        }
+        try {
+            writeExport(fileFormat, principal, response);
+        } finally {
+            exportPermits.release();
+        }
+    }
+    
+    private void writeExport(TaskFileFormat fileFormat, UserPrincipal principal, HttpServletResponse response)
+            throws IOException {
+        
+        response.setContentType(fileFormat.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("tasks." + fileFormat.extension())
+            .build()
+            .toString());
+        
+        TaskExportWriter writer = new TaskExportWriter(
+            fileFormat, response.getOutputStream(), jsonMapper, principal.getUsername()
+        );
+        writer.writeHeader();
+        taskService.exportTasks(principal.getId(), writer::write);
+        writer.finish();
+    }
+    
+    // Open a Server-Sent Events stream of the user's task changes. Events are
+    // named created, updated, completed or deleted; deletes carry only the id.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@AuthenticationPrincipal UserPrincipal principal) {
+        return taskStreamBroker.subscribe(principal.getId(), principal.getUsername());
+    }
+    
+    // Get tasks created, updated or deleted since the sync token. Without a
+    // token this returns everything; 410 means the token is too old to resume.
+    // Changes show up once they are sync.settle-window old. A change is only
+    // guaranteed to be seen if it committed within that window of its
+    // timestamp: the write timeout bounds the statements but not the commit
+    // itself, and clocks of different app nodes must agree to well within
+    // the margin between the two settings.
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDto> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
         
-        if (overdue) {
-            tasks = taskService.getOverdueTasks(user.getId());
-        } else {
-            tasks = taskService.getUserTasksFiltered(user.getId(), status, priority);
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidTaskException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
         
-        List<TaskResponseDto> response = tasks.stream()
-            .map(TaskResponseDto::fromEntity)
+        boolean initial = since == null || since.isBlank();
+        TaskService.TaskChanges changes = taskService.getChangesSince(
+            principal.getId(), SyncToken.decode(since), initial, pageSize
+        );
+        
+        List<TaskResponseDto> changed = changes.changed().stream()
+            .map(summary -> TaskResponseDto.fromSummary(summary, principal.getUsername()))
             .collect(Collectors.toList());
+        List<Long> deleted = changes.deleted().stream()
+            .map(TaskTombstone::getTaskId)
+            .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(new TaskChangesDto(changed, deleted, changes.next().encode(), changes.hasMore()));
+    }
+    
+    // Get task counts by status, plus overdue, for the authenticated user
+    @GetMapping("/stats")
+    public ResponseEntity<TaskService.TaskStats> getTaskStats(
+            @AuthenticationPrincipal UserPrincipal principal) {
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(taskService.getTaskStats(principal.getId()));
     }
     
-    // Get a specific task by ID
+    // Get a specific task by ID. Conditional requests (If-None-Match, or
+    // If-Modified-Since without it) check the task's version and update
+    // time first and only load the task when it has changed.
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDto> getTaskById(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
         
-        String token = authHeader.substring(7);
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
-        );
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            TaskVersion version = taskService.getTaskVersion(id, principal.getId());
+            String etag = ETags.forTask(version.getVersion());
+            Instant lastModified = LastModified.of(version.getUpdatedAt());
+            if (ETags.matches(ifNoneMatch, etag)
+                    || LastModified.notModifiedSince(ifModifiedSince, ifNoneMatch, lastModified)) {
+                return validators(HttpStatus.NOT_MODIFIED, etag, lastModified).build();
+            }
+        }
         
-        Task task = taskService.getTaskById(id, user.getId());
-        return ResponseEntity.ok(TaskResponseDto.fromEntity(task));
+        Task task = taskService.getTaskById(id, principal.getId());
+        return validators(HttpStatus.OK, ETags.forTask(task.getVersion()), LastModified.of(task.getUpdatedAt()))
+            .body(TaskResponseDto.fromEntity(task, principal.getUsername()));
     }
     
     // Create a new task
     @PostMapping
     public ResponseEntity<TaskResponseDto> createTask(
             @Valid @RequestBody TaskRequestDto taskDto,
-            @RequestHeader("Authorization") String authHeader) {
-        
-        String token = authHeader.substring(7);
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
-        );
+            @AuthenticationPrincipal UserPrincipal principal) {
         
         Task task = taskDto.toEntity();
-        Task createdTask = taskService.createTask(task, user);
+        Task createdTask = taskService.createTask(task, principal.getId());
         
         return ResponseEntity.status(HttpStatus.CREATED)
-            .body(TaskResponseDto.fromEntity(createdTask));
+            .eTag(ETags.forTask(createdTask.getVersion()))
+            .body(TaskResponseDto.fromEntity(createdTask, principal.getUsername()));
     }
     
-    // Update an existing task
+    // Update an existing task. With If-Match, the update only applies if the
+    // task is still at that version; otherwise it fails with 412.
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponseDto> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequestDto taskDto,
-            @RequestHeader("Authorization") String authHeader) {
-        
-        String token = authHeader.substring(7);
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
-        );
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
         Task updatedTaskData = taskDto.toEntity();
-        Task updatedTask = taskService.updateTask(id, updatedTaskData, user);
+        Task updatedTask = taskService.updateTask(
+            id, updatedTaskData, principal.getId(), ETags.expectedVersion(ifMatch)
+        );
         
-        return ResponseEntity.ok(TaskResponseDto.fromEntity(updatedTask));
+        return ResponseEntity.ok()
+            .eTag(ETags.forTask(updatedTask.getVersion()))
+            .body(TaskResponseDto.fromEntity(updatedTask, principal.getUsername()));
     }
     
-    // Mark task as completed
+    // Mark task as completed (If-Match is honoured as for updates)
     @PatchMapping("/{id}/complete")
     public ResponseEntity<TaskResponseDto> completeTask(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        
+        Task completedTask = taskService.completeTask(id, principal.getId(), ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.forTask(completedTask.getVersion()))
+            .body(TaskResponseDto.fromEntity(completedTask, principal.getUsername()));
+    }
+    
+    // Apply many create/update/complete/delete operations in one request.
+    // Each item gets its own result; invalid or missing items don't fail the rest.
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponseDto> applyBatch(
+            @Valid @RequestBody BatchTaskRequestDto request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        List<BatchOperationDto> operations = request.getOperations();
+        if (operations.size() > maxBatchOperations) {
+            throw new InvalidTaskException("A batch may contain at most " + maxBatchOperations + " operations");
+        }
+        
+        BatchResultDto[] results = new BatchResultDto[operations.size()];
+        List<TaskService.BatchOperation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDto operation = operations.get(i);
+            String error = validateBatchOperation(operation);
+            if (error != null) {
+                BatchOperationType type = operation == null ? null : operation.getOp();
+                Long id = operation == null ? null : operation.getId();
+                results[i] = BatchResultDto.failure(i, type, id, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+            
+            Task data = operation.getTask() != null ? operation.getTask().toEntity() : null;
+            accepted.add(new TaskService.BatchOperation(operation.getOp(), operation.getId(), data));
+            acceptedIndexes.add(i);
+        }
+        
+        List<TaskService.BatchOutcome> outcomes = accepted.isEmpty()
+            ? List.of()
+            : taskService.applyBatch(accepted, principal.getId());
+        
+        for (int i = 0; i < outcomes.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            TaskService.BatchOutcome outcome = outcomes.get(i);
+            BatchOperationType type = outcome.operation().type();
+            
+            if (!outcome.found()) {
+                Long id = outcome.operation().taskId();
+                results[index] = BatchResultDto.failure(
+                    index, type, id, HttpStatus.NOT_FOUND.value(), "Task not found with id: " + id
+                );
+            } else if (type == BatchOperationType.DELETE) {
+                results[index] = BatchResultDto.success(
+                    index, type, HttpStatus.NO_CONTENT.value(), null, outcome.task().getId()
+                );
+            } else {
+                HttpStatus status = type == BatchOperationType.CREATE ? HttpStatus.CREATED : HttpStatus.OK;
+                results[index] = BatchResultDto.success(
+                    index, type, status.value(),
+                    TaskResponseDto.fromEntity(outcome.task(), principal.getUsername()),
+                    outcome.task().getId()
+                );
+            }
+        }
+        
+        return ResponseEntity.ok(new BatchResponseDto(List.of(results)));
+    }
+    
+    // Returns an error message, or null if the operation can be applied
+    private String validateBatchOperation(BatchOperationDto operation) {
+        if (operation == null || operation.getOp() == null) {
+            return "Operation is required";
+        }
         
-        String token = authHeader.substring(7);
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
+        boolean needsId = operation.getOp() != BatchOperationType.CREATE;
+        boolean needsTask = operation.getOp() == BatchOperationType.CREATE
+            || operation.getOp() == BatchOperationType.UPDATE;
+        
+        if (needsId && operation.getId() == null) {
+            return "Task id is required for " + operation.getOp();
+        }
+        if (needsTask && operation.getTask() == null) {
+            return "Task fields are required for " + operation.getOp();
+        }
+        if (needsTask) {
+            Set<ConstraintViolation<TaskRequestDto>> violations = validator.validate(operation.getTask());
+            if (!violations.isEmpty()) {
+                ConstraintViolation<TaskRequestDto> violation = violations.iterator().next();
+                return violation.getPropertyPath() + ": " + violation.getMessage();
+            }
+        }
+        return null;
+    }
+    
+    // Import tasks from a CSV or NDJSON request body (format=csv|ndjson), e.g.
+    // a file from /export. The body is parsed as it arrives; each row is
+    // checked against the TaskRequestDto constraints, and valid rows are
+    // inserted in chunks of import.chunk-size, each in its own transaction.
+    // Invalid rows are reported by row number and skipped. The request only
+    // holds a database permit while a chunk is being inserted, not while the
+    // body is still arriving.
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponseDto> importTasks(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) throws IOException {
+        
+        long start = System.nanoTime();
+        TaskImportReader reader = new TaskImportReader(
+            TaskFileFormat.parse(format), request.getInputStream(), jsonMapper
         );
         
-        Task completedTask = taskService.completeTask(id, user);
-        return ResponseEntity.ok(TaskResponseDto.fromEntity(completedTask));
+        ImportTally tally = new ImportTally(maxReportedImportErrors);
+        List<Task> chunk = new ArrayList<>(importChunkSize);
+        List<Integer> chunkRows = new ArrayList<>(importChunkSize);
+        
+        TaskImportReader.ImportRow row;
+        while ((row = reader.next()) != null) {
+            String error = row.error() != null ? row.error() : validateImportRow(row.task());
+            if (error != null) {
+                tally.fail(row.row(), error);
+                continue;
+            }
+            
+            chunk.add(row.task().toEntity());
+            chunkRows.add(row.row());
+            if (chunk.size() == importChunkSize) {
+                importChunk(chunk, chunkRows, principal.getId(), tally);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkRows, principal.getId(), tally);
+        }
+        
+        return ResponseEntity.ok(new ImportResponseDto(
+            tally.imported, tally.failed, tally.errors, System.nanoTime() - start
+        ));
+    }
+    
+    // A chunk that fails to insert rolls back on its own, and one that gets no
+    // database permit is never started; earlier chunks stay committed either
+    // way, so its rows are reported as failed and the import carries on.
+    // The response then says exactly which rows need to be sent again.
+    private void importChunk(List<Task> chunk, List<Integer> chunkRows, Long userId, ImportTally tally) {
+        try {
+            tally.imported += dbConcurrencyLimiter.call(() -> taskService.importTasks(chunk, userId));
+        } catch (ServiceUnavailableException ex) {
+            failChunk(chunkRows, tally, "Not saved: the server was too busy to insert the chunk containing this row");
+        } catch (DataAccessException | TransactionException | PersistenceException ex) {
+            failChunk(chunkRows, tally, "Not saved: the database rejected the chunk containing this row");
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+    
+    private static void failChunk(List<Integer> chunkRows, ImportTally tally, String error) {
+        for (int chunkRow : chunkRows) {
+            tally.fail(chunkRow, error);
+        }
+    }
+    
+    private static final class ImportTally {
+        
+        private final int maxReportedErrors;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+        
+        ImportTally(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+        
+        void fail(int row, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorDto(row, error));
+            }
+        }
+    }
+    
+    private String validateImportRow(TaskRequestDto task) {
+        Set<ConstraintViolation<TaskRequestDto>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<TaskRequestDto> violation = violations.iterator().next();
+        return violation.getPropertyPath() + ": " + violation.getMessage();
     }
     
     // Delete a task
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
-
-        String token = authHeader.substring(7);
-        User user = userService.findByUsername(
-            new JwtTokenProvider().getUsernameFromToken(token)
-        );
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        taskService.deleteTask(id, user);
+        taskService.deleteTask(id, principal.getId());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
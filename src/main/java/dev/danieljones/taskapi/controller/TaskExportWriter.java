@@ -0,0 +1,101 @@
+package dev.danieljones.taskapi.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import dev.danieljones.taskapi.dto.TaskResponseDto;
+import dev.danieljones.taskapi.model.Task;
+import tools.jackson.databind.json.JsonMapper;
+
+// Writes exported tasks one row at a time through a fixed-size buffer, so
+// nothing beyond the current row is held in memory
+final class TaskExportWriter {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final TaskFileFormat format;
+    private final Writer out;
+    private final JsonMapper jsonMapper;
+    private final String username;
+    
+    TaskExportWriter(TaskFileFormat format, OutputStream out, JsonMapper jsonMapper, String username) {
+        this.format = format;
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.jsonMapper = jsonMapper;
+        this.username = username;
+    }
+    
+    void writeHeader() throws IOException {
+        if (format == TaskFileFormat.CSV) {
+            out.write(String.join(",", TaskFileFormat.CSV_COLUMNS));
+            out.write("\r\n");
+        }
+    }
+    
+    // Called from inside the export stream, which can't throw checked exceptions
+    void write(Task task) {
+        try {
+            if (format == TaskFileFormat.CSV) {
+                writeCsv(task);
+            } else {
+                out.write(jsonMapper.writeValueAsString(TaskResponseDto.fromEntity(task, username)));
+                out.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    void finish() throws IOException {
+        out.flush();
+    }
+    
+    private void writeCsv(Task task) throws IOException {
+        out.write(String.valueOf(task.getId()));
+        out.write(',');
+        writeCsvField(task.getTitle());
+        out.write(',');
+        writeCsvField(task.getDescription());
+        out.write(',');
+        out.write(task.getStatus().name());
+        out.write(',');
+        out.write(task.getPriority().name());
+        out.write(',');
+        writeCsvField(task.getDueDate());
+        out.write(',');
+        writeCsvField(task.getCreatedAt());
+        out.write(',');
+        writeCsvField(task.getUpdatedAt());
+        out.write(',');
+        out.write(String.valueOf(task.getVersion()));
+        out.write("\r\n");
+    }
+    
+    // RFC 4180: quote fields containing separators, quotes or line breaks,
+    // doubling any embedded quotes. Nulls are written as empty fields.
+    private void writeCsvField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
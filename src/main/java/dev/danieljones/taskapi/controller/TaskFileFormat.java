@@ -0,0 +1,44 @@
+package dev.danieljones.taskapi.controller;
+
+import java.util.List;
+
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+
+// File formats for task export and import: CSV with a header row, or NDJSON
+// with one JSON object per line
+enum TaskFileFormat {
+    
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    // CSV columns, in order
+    static final List<String> CSV_COLUMNS = List.of(
+        "id", "title", "description", "status", "priority",
+        "dueDate", "createdAt", "updatedAt", "version"
+    );
+    
+    private final String contentType;
+    private final String extension;
+    
+    TaskFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    String contentType() {
+        return contentType;
+    }
+    
+    String extension() {
+        return extension;
+    }
+    
+    static TaskFileFormat parse(String format) {
+        for (TaskFileFormat candidate : values()) {
+            if (candidate.extension.equalsIgnoreCase(format.trim())) {
+                return candidate;
+            }
+        }
+        throw new InvalidTaskException("format must be csv or ndjson");
+    }
+}
@@ -0,0 +1,242 @@
+package dev.danieljones.taskapi.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import dev.danieljones.taskapi.dto.TaskRequestDto;
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Status;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+// Reads an uploaded task file one record at a time, so only the current row
+// is in memory. CSV needs a header row; columns other than title,
+// description, status, priority and dueDate (e.g. the id and timestamps of
+// an export) are ignored. Rows that can't be parsed come back with an error
+// instead of a task, so one bad row doesn't stop the import.
+final class TaskImportReader {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    // Several times what a valid row needs (title 255 + description 1000
+    // characters, before quoting or JSON escapes). Longer records are skipped
+    // to the next line break and reported, so one runaway line or unclosed
+    // quote can't buffer the rest of the upload.
+    static final int MAX_RECORD_CHARS = 8 * 1024;
+    
+    private final TaskFileFormat format;
+    private final BufferedReader in;
+    private final JsonMapper jsonMapper;
+    private Map<String, Integer> columns;
+    private int row;
+    
+    TaskImportReader(TaskFileFormat format, InputStream in, JsonMapper jsonMapper) {
+        this.format = format;
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.jsonMapper = jsonMapper;
+    }
+    
+    // Returns null at the end of the file
+    ImportRow next() throws IOException {
+        return format == TaskFileFormat.CSV ? nextCsv() : nextJson();
+    }
+    
+    private ImportRow nextJson() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+            row++;
+        } while (line.isBlank());
+        
+        if (line.length() > MAX_RECORD_CHARS) {
+            return new ImportRow(row, null, tooLong());
+        }
+        try {
+            return new ImportRow(row, jsonMapper.readValue(line, TaskRequestDto.class), null);
+        } catch (JacksonException ex) {
+            return new ImportRow(row, null, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+    
+    private ImportRow nextCsv() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        
+        List<String> fields;
+        try {
+            do {
+                fields = readCsvRecord();
+                if (fields == null) {
+                    return null;
+                }
+                row++;
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+        } catch (InvalidTaskException ex) {
+            return new ImportRow(++row, null, ex.getMessage());
+        }
+        
+        try {
+            TaskRequestDto task = new TaskRequestDto();
+            task.setTitle(field(fields, "title"));
+            task.setDescription(field(fields, "description"));
+            String status = field(fields, "status");
+            task.setStatus(status != null ? parseEnum(Status.class, "status", status) : null);
+            String priority = field(fields, "priority");
+            task.setPriority(priority != null ? parseEnum(Priority.class, "priority", priority) : null);
+            String dueDate = field(fields, "dueDate");
+            task.setDueDate(dueDate != null ? LocalDate.parse(dueDate) : null);
+            return new ImportRow(row, task, null);
+        } catch (DateTimeParseException ex) {
+            return new ImportRow(row, null, "dueDate: must be a date like 2025-01-31");
+        } catch (InvalidTaskException ex) {
+            return new ImportRow(row, null, ex.getMessage());
+        }
+    }
+    
+    private void readHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        if (header == null) {
+            throw new InvalidTaskException("CSV file is empty");
+        }
+        
+        // Spreadsheet exports often start with a byte order mark
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new InvalidTaskException("CSV header must include a title column");
+        }
+    }
+    
+    // Empty fields are null, matching a missing JSON property
+    private String field(List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTaskException(name + ": unknown value " + value);
+        }
+    }
+    
+    // Reads up to the next line break, keeping at most one character past the
+    // limit so the caller can tell the line was too long. Returns null at the
+    // end of the file.
+    private String readLine() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (line.length() <= MAX_RECORD_CHARS) {
+                line.append((char) c);
+            }
+            c = in.read();
+        }
+        
+        int end = line.length();
+        if (end > 0 && end <= MAX_RECORD_CHARS && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+    
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = in.read();
+        } while (c != -1 && c != '\n');
+    }
+    
+    private static String tooLong() {
+        return "Row is longer than " + MAX_RECORD_CHARS + " characters";
+    }
+    
+    // One RFC 4180 record: quoted fields may contain separators, doubled
+    // quotes and line breaks. Returns null at the end of the file.
+    private List<String> readCsvRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        
+        while (c != -1) {
+            if (++length > MAX_RECORD_CHARS) {
+                if (c != '\n') {
+                    skipLine();
+                }
+                throw new InvalidTaskException(tooLong());
+            }
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int following = in.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                in.mark(1);
+                if (in.read() != '\n') {
+                    in.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+        
+        if (quoted) {
+            throw new InvalidTaskException("CSV ends inside a quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    // task is null when the row couldn't be parsed; error then says why
+    record ImportRow(int row, TaskRequestDto task, String error) {}
+}
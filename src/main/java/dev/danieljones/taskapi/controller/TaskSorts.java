@@ -0,0 +1,40 @@
+package dev.danieljones.taskapi.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+
+// Parses the sort= parameter of the task list: comma-separated keys, each
+// ascending unless prefixed with '-', e.g. sort=-priority,dueDate
+final class TaskSorts {
+    
+    static final Set<String> KEYS = Set.of(
+        "id", "title", "status", "priority", "dueDate", "createdAt", "updatedAt"
+    );
+    
+    private TaskSorts() {}
+    
+    static Sort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String part : sort.split(",")) {
+            String key = part.trim();
+            boolean descending = key.startsWith("-");
+            if (descending) {
+                key = key.substring(1);
+            }
+            if (!KEYS.contains(key)) {
+                throw new InvalidTaskException("Unknown sort key: " + key + " (allowed: " + KEYS + ")");
+            }
+            orders.add(descending ? Sort.Order.desc(key) : Sort.Order.asc(key));
+        }
+        return Sort.by(orders);
+    }
+}
@@ -0,0 +1,180 @@
+package dev.danieljones.taskapi.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.danieljones.taskapi.dto.TaskResponseDto;
+import dev.danieljones.taskapi.service.TaskChangeEvent;
+import jakarta.annotation.PreDestroy;
+
+// In-memory fan-out of committed task changes to each user's SSE connections.
+// The request thread is released as soon as a stream is opened; each
+// subscriber gets a bounded buffer drained by its own virtual thread, so a
+// slow client never blocks the committing thread or other subscribers. A
+// client whose buffer fills up is disconnected and should catch up through
+// /api/tasks/changes before reconnecting. Single node only.
+@Component
+public class TaskStreamBroker {
+    
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    
+    @Value("${taskapi.stream.buffer-size:256}")
+    private int bufferSize;
+    
+    // Opening one more stream than this closes the user's oldest one
+    @Value("${taskapi.stream.max-subscribers-per-user:5}")
+    private int maxSubscribersPerUser;
+    
+    @Value("${taskapi.stream.timeout:30m}")
+    private Duration timeout;
+    
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    public SseEmitter subscribe(Long userId, String username) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, username, emitter, bufferSize);
+        
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> close(subscriber));
+        
+        Subscriber[] displaced = new Subscriber[1];
+        subscribers.compute(userId, (id, existing) -> {
+            List<Subscriber> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            if (list.size() >= maxSubscribersPerUser) {
+                displaced[0] = list.remove(0);
+            }
+            list.add(subscriber);
+            return list;
+        });
+        if (displaced[0] != null) {
+            displaced[0].evict();
+        }
+        
+        subscriber.start();
+        return emitter;
+    }
+    
+    // Runs after commit, so rolled-back writes are never pushed. Only enqueues.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChange(TaskChangeEvent event) {
+        List<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        
+        // One snapshot: a stream closing concurrently can empty the list
+        // between a size check and an index lookup
+        Subscriber[] snapshot = targets.toArray(Subscriber[]::new);
+        if (snapshot.length == 0) {
+            return;
+        }
+        
+        // All subscribers share the owner, so the frame is built once
+        Object data = event.task() != null
+            ? TaskResponseDto.fromEntity(event.task(), snapshot[0].username)
+            : Map.of("id", event.taskId());
+        Set<DataWithMediaType> frame = SseEmitter.event()
+            .name(event.type().name().toLowerCase())
+            .data(data, MediaType.APPLICATION_JSON)
+            .build();
+        
+        for (Subscriber subscriber : snapshot) {
+            subscriber.offer(frame);
+        }
+    }
+    
+    // Keeps proxies from closing idle streams and finds connections that are gone
+    @Scheduled(fixedDelayString = "${taskapi.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+    
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::evict));
+    }
+    
+    private void close(Subscriber subscriber) {
+        subscriber.stop();
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+    
+    private final class Subscriber {
+        
+        final Long userId;
+        final String username;
+        final SseEmitter emitter;
+        final BlockingQueue<Set<DataWithMediaType>> buffer;
+        
+        private volatile boolean closed;
+        private volatile Thread writer;
+        
+        Subscriber(Long userId, String username, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.username = username;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+        
+        void start() {
+            writer = Thread.ofVirtual().name("task-stream-" + userId).start(this::drain);
+        }
+        
+        // Never blocks; a full buffer means the client can't keep up
+        void offer(Set<DataWithMediaType> frame) {
+            if (!closed && !buffer.offer(frame)) {
+                evict();
+            }
+        }
+        
+        void evict() {
+            close(this);
+            emitter.complete();
+        }
+        
+        void stop() {
+            closed = true;
+            Thread current = writer;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+        
+        private void drain() {
+            try {
+                while (!closed) {
+                    emitter.send(buffer.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // Client disconnected or the emitter already completed
+                evict();
+            }
+        }
+    }
+}
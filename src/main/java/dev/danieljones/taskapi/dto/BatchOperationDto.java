@@ -0,0 +1,31 @@
+package dev.danieljones.taskapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class BatchOperationDto {
+    
+    @NotNull(message = "Operation is required")
+    private BatchOperationType op;
+    
+    private Long id;              // Required for UPDATE, COMPLETE and DELETE
+    private TaskRequestDto task;  // Required for CREATE and UPDATE
+    
+    // Constructors
+    public BatchOperationDto() {}
+    
+    public BatchOperationDto(BatchOperationType op, Long id, TaskRequestDto task) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+    
+    // Getters and Setters
+    public BatchOperationType getOp() { return op; }
+    public void setOp(BatchOperationType op) { this.op = op; }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public TaskRequestDto getTask() { return task; }
+    public void setTask(TaskRequestDto task) { this.task = task; }
+}
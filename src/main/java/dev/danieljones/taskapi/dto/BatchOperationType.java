@@ -0,0 +1,8 @@
+package dev.danieljones.taskapi.dto;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    COMPLETE,
+    DELETE
+}
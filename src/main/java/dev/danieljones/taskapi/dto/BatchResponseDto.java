@@ -0,0 +1,29 @@
+package dev.danieljones.taskapi.dto;
+
+import java.util.List;
+
+public class BatchResponseDto {
+    
+    private List<BatchResultDto> results;
+    private int succeeded;
+    private int failed;
+    
+    // Constructors
+    public BatchResponseDto() {}
+    
+    public BatchResponseDto(List<BatchResultDto> results) {
+        this.results = results;
+        this.failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        this.succeeded = results.size() - failed;
+    }
+    
+    // Getters and Setters
+    public List<BatchResultDto> getResults() { return results; }
+    public void setResults(List<BatchResultDto> results) { this.results = results; }
+    
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+}
@@ -0,0 +1,53 @@
+package dev.danieljones.taskapi.dto;
+
+public class BatchResultDto {
+    
+    private int index;             // Position of the operation in the request
+    private BatchOperationType op;
+    private Long id;
+    private int status;            // HTTP status the single-task endpoint would have returned
+    private TaskResponseDto task;  // Absent for DELETE and failures
+    private String error;
+    
+    // Constructors
+    public BatchResultDto() {}
+    
+    public static BatchResultDto success(int index, BatchOperationType op, int status, TaskResponseDto task, Long id) {
+        BatchResultDto result = new BatchResultDto();
+        result.setIndex(index);
+        result.setOp(op);
+        result.setId(id);
+        result.setStatus(status);
+        result.setTask(task);
+        return result;
+    }
+    
+    public static BatchResultDto failure(int index, BatchOperationType op, Long id, int status, String error) {
+        BatchResultDto result = new BatchResultDto();
+        result.setIndex(index);
+        result.setOp(op);
+        result.setId(id);
+        result.setStatus(status);
+        result.setError(error);
+        return result;
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public BatchOperationType getOp() { return op; }
+    public void setOp(BatchOperationType op) { this.op = op; }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    
+    public TaskResponseDto getTask() { return task; }
+    public void setTask(TaskResponseDto task) { this.task = task; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
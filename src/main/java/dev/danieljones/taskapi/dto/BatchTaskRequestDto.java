@@ -0,0 +1,23 @@
+package dev.danieljones.taskapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public class BatchTaskRequestDto {
+    
+    // Items are validated one by one so a bad item fails alone, not the whole batch
+    @NotEmpty(message = "Operations are required")
+    private List<BatchOperationDto> operations;
+    
+    // Constructors
+    public BatchTaskRequestDto() {}
+    
+    public BatchTaskRequestDto(List<BatchOperationDto> operations) {
+        this.operations = operations;
+    }
+    
+    // Getters and Setters
+    public List<BatchOperationDto> getOperations() { return operations; }
+    public void setOperations(List<BatchOperationDto> operations) { this.operations = operations; }
+}
@@ -0,0 +1,22 @@
+package dev.danieljones.taskapi.dto;
+
+public class ImportErrorDto {
+    
+    private int row;       // 1-based record number in the file, not counting a CSV header
+    private String error;
+    
+    // Constructors
+    public ImportErrorDto() {}
+    
+    public ImportErrorDto(int row, String error) {
+        this.row = row;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
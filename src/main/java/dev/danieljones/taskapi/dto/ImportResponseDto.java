@@ -0,0 +1,39 @@
+package dev.danieljones.taskapi.dto;
+
+import java.util.List;
+
+public class ImportResponseDto {
+    
+    private int imported;
+    private int failed;
+    private List<ImportErrorDto> errors;  // The first failures only; failed has the full count
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    
+    // Constructors
+    public ImportResponseDto() {}
+    
+    public ImportResponseDto(int imported, int failed, List<ImportErrorDto> errors, long elapsedNanos) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos > 0 ? (imported + failed) * 1e9 / elapsedNanos : 0;
+    }
+    
+    // Getters and Setters
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<ImportErrorDto> getErrors() { return errors; }
+    public void setErrors(List<ImportErrorDto> errors) { this.errors = errors; }
+    
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+}
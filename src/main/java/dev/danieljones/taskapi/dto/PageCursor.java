@@ -0,0 +1,37 @@
+package dev.danieljones.taskapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+
+// Opaque keyset cursor. Clients pass it back unchanged; the encoding is
+// versioned so the key can change later without breaking old cursors silently.
+public final class PageCursor {
+    
+    private static final String PREFIX = "v1:";
+    
+    private PageCursor() {}
+    
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+    
+    // Returns the id to continue after; a missing cursor starts from the beginning
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidTaskException("Invalid cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTaskException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.danieljones.taskapi.dto;
+
+import java.util.List;
+
+public class PageResponseDto<T> {
+    
+    private List<T> items;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+    
+    // Constructors
+    public PageResponseDto() {}
+    
+    public PageResponseDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
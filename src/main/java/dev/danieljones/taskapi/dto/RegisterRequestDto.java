@@ -1,5 +1,9 @@
 package dev.danieljones.taskapi.dto;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -18,6 +22,10 @@ public class RegisterRequestDto {
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
     
+    // Optional, e.g. Europe/Berlin; decides the date tasks become overdue on
+    @Size(max = 64, message = "Time zone must be less than 64 characters")
+    private String timeZone;
+    
     // Constructors
     public RegisterRequestDto() {}
     
@@ -36,4 +44,20 @@ public class RegisterRequestDto {
     
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+    
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+    
+    @AssertTrue(message = "Time zone must be a region id like Europe/Berlin")
+    public boolean isTimeZoneValid() {
+        if (timeZone == null) {
+            return true;
+        }
+        try {
+            ZoneId.of(timeZone);
+            return true;
+        } catch (DateTimeException ex) {
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package dev.danieljones.taskapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+
+// Opaque keyset cursor for ranked search results, which are ordered by
+// (rank desc, id asc), so the cursor carries both.
+public record SearchCursor(double rank, long id) {
+    
+    private static final String PREFIX = "v1";
+    
+    public String encode() {
+        String raw = PREFIX + ":" + rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // A missing cursor (null) starts from the best match
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !parts[0].equals(PREFIX)) {
+                throw new InvalidTaskException("Invalid cursor");
+            }
+            return new SearchCursor(Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTaskException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.danieljones.taskapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+
+// Opaque watermark for incremental sync. It tracks how far the client has
+// read both changed tasks (updatedAt, id) and tombstones (deletedAt, taskId).
+public record SyncToken(LocalDateTime taskSince, long taskAfterId,
+                        LocalDateTime deletedSince, long deletedAfterId) {
+    
+    private static final String PREFIX = "v1";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    // Where a client without a token starts: a full sync
+    public static SyncToken initial() {
+        return new SyncToken(EPOCH, 0L, EPOCH, 0L);
+    }
+    
+    public String encode() {
+        String raw = String.join("|", PREFIX,
+            taskSince.toString(), Long.toString(taskAfterId),
+            deletedSince.toString(), Long.toString(deletedAfterId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return initial();
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 5 || !parts[0].equals(PREFIX)) {
+                throw new InvalidTaskException("Invalid sync token");
+            }
+            return new SyncToken(
+                LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]),
+                LocalDateTime.parse(parts[3]), Long.parseLong(parts[4])
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidTaskException("Invalid sync token", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.danieljones.taskapi.dto;
+
+import java.util.List;
+
+public class TaskChangesDto {
+    
+    private List<TaskResponseDto> changed; // Created or updated since the token
+    private List<Long> deleted;            // Ids of tasks deleted since the token
+    private String nextToken;              // Pass as since= on the next call
+    private boolean hasMore;               // Call again right away to drain the rest
+    
+    // Constructors
+    public TaskChangesDto() {}
+    
+    public TaskChangesDto(List<TaskResponseDto> changed, List<Long> deleted, String nextToken, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<TaskResponseDto> getChanged() { return changed; }
+    public void setChanged(List<TaskResponseDto> changed) { this.changed = changed; }
+    
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+    
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -2,13 +2,25 @@ package dev.danieljones.taskapi.dto;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
+import dev.danieljones.taskapi.exception.InvalidTaskException;
 import dev.danieljones.taskapi.model.Task;
 import dev.danieljones.taskapi.model.Status;
 import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.repository.TaskSummary;
 
 public class TaskResponseDto {
     
+    // Field names accepted by the fields= projection
+    public static final Set<String> FIELDS = Set.of(
+        "id", "title", "description", "status", "priority",
+        "dueDate", "createdAt", "updatedAt", "username", "version"
+    );
+    
     private Long id;
     private String title;
     private String description;
@@ -18,12 +30,18 @@ public class TaskResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String username; // Owner's username
+    private Long version;    // Send back in If-Match to guard updates
     
     // Constructors
     public TaskResponseDto() {}
     
     // Static factory method to convert Entity to DTO
     public static TaskResponseDto fromEntity(Task task) {
+        return fromEntity(task, task.getUser().getUsername());
+    }
+    
+    // Variant for callers that already know the owner, so the lazy user isn't loaded
+    public static TaskResponseDto fromEntity(Task task, String username) {
         TaskResponseDto dto = new TaskResponseDto();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -33,10 +51,58 @@ public class TaskResponseDto {
         dto.setDueDate(task.getDueDate());
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
-        dto.setUsername(task.getUser().getUsername());
+        dto.setUsername(username);
+        dto.setVersion(task.getVersion());
+        return dto;
+    }
+    
+    public static TaskResponseDto fromSummary(TaskSummary summary, String username) {
+        TaskResponseDto dto = new TaskResponseDto();
+        dto.setId(summary.getId());
+        dto.setTitle(summary.getTitle());
+        dto.setDescription(summary.getDescription());
+        dto.setStatus(summary.getStatus());
+        dto.setPriority(summary.getPriority());
+        dto.setDueDate(summary.getDueDate());
+        dto.setCreatedAt(summary.getCreatedAt());
+        dto.setUpdatedAt(summary.getUpdatedAt());
+        dto.setUsername(username);
+        dto.setVersion(summary.getVersion());
         return dto;
     }
     
+    // Keep only the requested fields, for responses using fields=
+    public Map<String, Object> toFieldMap(Set<String> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (fields.contains("id")) map.put("id", id);
+        if (fields.contains("title")) map.put("title", title);
+        if (fields.contains("description")) map.put("description", description);
+        if (fields.contains("status")) map.put("status", status);
+        if (fields.contains("priority")) map.put("priority", priority);
+        if (fields.contains("dueDate")) map.put("dueDate", dueDate);
+        if (fields.contains("createdAt")) map.put("createdAt", createdAt);
+        if (fields.contains("updatedAt")) map.put("updatedAt", updatedAt);
+        if (fields.contains("username")) map.put("username", username);
+        if (fields.contains("version")) map.put("version", version);
+        return map;
+    }
+    
+    // Parse a comma-separated fields= parameter, rejecting unknown names
+    public static Set<String> parseFields(String fields) {
+        Set<String> selected = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new InvalidTaskException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -64,4 +130,7 @@ public class TaskResponseDto {
     
     public String getUsername() { return username; }
     public void setUsername(String username) { this.username = username; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package dev.danieljones.taskapi.exception;
+
+public class SyncTokenExpiredException extends RuntimeException {
+    
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+    
+    public SyncTokenExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,12 +5,20 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
 
+// Not second-level cached: the direct UPDATE/DELETE statements in
+// TaskRepository would evict the whole region on every write by any user.
+// Per-user list results are cached by TaskQueryCache instead.
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_user_status_priority", columnList = "user_id, status, priority"),
+    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date")
+})
 public class Task {
     
+    // Pooled sequence ids (rather than IDENTITY) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -36,6 +44,16 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Bumped on every update; also used as the task's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Maintained in SQL by OverdueTracker and OverdueFlagJob, never written
+    // through the entity. Mapped so queries can filter on it.
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean overdue;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -124,6 +142,15 @@ public class Task {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    // The flag as loaded; OverdueTracker updates the row, not this field
+    public boolean isOverdue() {
+        return overdue;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,74 @@
+package dev.danieljones.taskapi.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+
+// Record of a deleted task, kept so sync clients can learn about the delete.
+// Ids are assigned (the task's id), so Persistable tells Spring Data a new
+// tombstone is new and save() inserts without a SELECT first.
+@Entity
+@Table(name = "task_tombstones")
+public class TaskTombstone implements Persistable<Long> {
+    
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    @Transient
+    private boolean isNew = true;
+
+    // Default constructor for JPA
+    protected TaskTombstone() {}
+
+    public TaskTombstone(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "TaskTombstone[taskId=%d, userId=%d, deletedAt=%s]",
+            taskId, userId, deletedAt
+        );
+    }
+}
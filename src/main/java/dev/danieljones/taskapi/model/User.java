@@ -4,9 +4,14 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
 public class User {
     
@@ -23,6 +28,11 @@ public class User {
     @Column(nullable = false)
     private String password;
     
+    // IANA zone id deciding when this user's tasks become overdue; null means
+    // the server's default zone
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -85,6 +95,14 @@ public class User {
         this.password = password;
     }
 
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
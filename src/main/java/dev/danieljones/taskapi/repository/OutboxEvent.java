@@ -0,0 +1,6 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDateTime;
+
+// One task_outbox row; payload is the task as JSON (null for deletes)
+public record OutboxEvent(Long id, String type, Long userId, Long taskId, String payload, LocalDateTime createdAt) {}
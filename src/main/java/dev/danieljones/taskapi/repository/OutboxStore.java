@@ -0,0 +1,69 @@
+package dev.danieljones.taskapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Plain JDBC access to task_outbox. Inserts go out as one JDBC batch on the
+// caller's transaction connection.
+@Repository
+public class OutboxStore {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO task_outbox (event_type, user_id, task_id, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+            events,
+            events.size(),
+            (ps, event) -> {
+                ps.setString(1, event.type());
+                ps.setLong(2, event.userId());
+                ps.setLong(3, event.taskId());
+                ps.setString(4, event.payload());
+                ps.setTimestamp(5, Timestamp.valueOf(event.createdAt()));
+            }
+        );
+    }
+    
+    // Oldest undelivered events first
+    public List<OutboxEvent> findBatch(int limit) {
+        return jdbcTemplate.query(
+            "SELECT id, event_type, user_id, task_id, payload, created_at FROM task_outbox ORDER BY id LIMIT ?",
+            (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getLong("user_id"),
+                rs.getLong("task_id"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+            ),
+            limit
+        );
+    }
+    
+    public void deleteAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM task_outbox WHERE id = ?",
+            events,
+            events.size(),
+            (ps, event) -> ps.setLong(1, event.id())
+        );
+    }
+    
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+    
+    // created_at of the oldest undelivered event, or null when drained
+    public LocalDateTime oldestCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM task_outbox", Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+}
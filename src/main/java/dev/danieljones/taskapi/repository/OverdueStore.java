@@ -0,0 +1,72 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Plain SQL on the materialized overdue state: tasks.overdue and the
+// users.overdue_tasks counter. Neither column is written through Hibernate,
+// so these statements don't evict anything from the second-level cache.
+@Repository
+public class OverdueStore {
+    
+    private static final String IS_OVERDUE = "due_date < :today AND status <> 'COMPLETED'";
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+    
+    // Set the flag on the given tasks; returns how many rows actually changed
+    public int setOverdue(Collection<Long> taskIds, boolean overdue) {
+        return jdbc.update(
+            "UPDATE tasks SET overdue = :overdue WHERE id IN (:ids) AND overdue <> :overdue",
+            new MapSqlParameterSource("ids", taskIds).addValue("overdue", overdue)
+        );
+    }
+    
+    // Flag every open task due before today for users in the zone (null: the
+    // users without a zone). Served by the open-tasks (user_id, due_date) index.
+    public int markOverdueInZone(String timeZone, LocalDate today) {
+        return jdbc.update(
+            "UPDATE tasks SET overdue = TRUE WHERE NOT overdue AND " + IS_OVERDUE +
+            " AND user_id IN (SELECT id FROM users WHERE " + zoneMatches(timeZone) + ")",
+            new MapSqlParameterSource("today", today).addValue("zone", timeZone)
+        );
+    }
+    
+    public void addToCount(Long userId, long delta) {
+        jdbc.update(
+            "UPDATE users SET overdue_tasks = overdue_tasks + :delta WHERE id = :userId",
+            Map.of("delta", delta, "userId", userId)
+        );
+    }
+    
+    public void recountZone(String timeZone) {
+        jdbc.update(
+            "UPDATE users SET overdue_tasks = " +
+            "(SELECT COUNT(*) FROM tasks t WHERE t.user_id = users.id AND t.overdue) WHERE " + zoneMatches(timeZone),
+            new MapSqlParameterSource("zone", timeZone)
+        );
+    }
+    
+    public long count(Long userId) {
+        List<Long> counts = jdbc.queryForList(
+            "SELECT overdue_tasks FROM users WHERE id = :userId", Map.of("userId", userId), Long.class
+        );
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+    
+    // Distinct zones in use; null stands for users without one
+    public List<String> findTimeZones() {
+        return jdbc.getJdbcTemplate().queryForList("SELECT DISTINCT time_zone FROM users", String.class);
+    }
+    
+    private static String zoneMatches(String timeZone) {
+        return timeZone == null ? "time_zone IS NULL" : "time_zone = :zone";
+    }
+}
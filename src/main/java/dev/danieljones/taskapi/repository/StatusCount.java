@@ -0,0 +1,11 @@
+package dev.danieljones.taskapi.repository;
+
+import dev.danieljones.taskapi.model.Status;
+
+// One row of the per-status aggregate used for task statistics
+public interface StatusCount {
+    
+    Status getStatus();
+    
+    long getTotal();
+}
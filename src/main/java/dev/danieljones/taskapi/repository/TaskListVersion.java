@@ -0,0 +1,27 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDateTime;
+
+// Cheap fingerprint of a user's task list: any create, update or delete
+// changes it, and so does a task becoming overdue
+public interface TaskListVersion {
+    
+    long getTotal();
+    
+    LocalDateTime getLastUpdated();
+    
+    long getOverdue();
+    
+    LocalDateTime getLastDeleted();
+    
+    // Latest create, update or delete; null for a user who never had a task.
+    // A delete stops counting once its tombstone is purged.
+    default LocalDateTime getLastModified() {
+        LocalDateTime updated = getLastUpdated();
+        LocalDateTime deleted = getLastDeleted();
+        if (updated == null || deleted == null) {
+            return updated != null ? updated : deleted;
+        }
+        return updated.isAfter(deleted) ? updated : deleted;
+    }
+}
@@ -1,43 +1,153 @@
 package dev.danieljones.taskapi.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import dev.danieljones.taskapi.model.Task;
 import dev.danieljones.taskapi.model.Status;
 import dev.danieljones.taskapi.model.Priority;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     
     List<Task> findByUserId(Long userId);
     
-    List<Task> findByUserIdAndStatus(Long userId, Status status);
+    Optional<Task> findByIdAndUserId(Long taskId, Long userId);
     
-    List<Task> findByUserIdAndPriority(Long userId, Priority priority);
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> taskIds);
     
-    List<Task> findByUserIdAndStatusAndPriority(Long userId, Status status, Priority priority);
+    List<Task> findByUserIdOrderByDueDateAsc(Long userId);
     
-    Optional<Task> findByIdAndUserId(Long taskId, Long userId);
+    // All of a user's tasks in id order, read off the cursor in fetch-size
+    // chunks for exports. Rows are loaded read-only; the caller must consume
+    // the stream inside a transaction and close it.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId ORDER BY t.id")
+    Stream<Task> streamByUserId(@Param("userId") Long userId);
     
-    List<Task> findByUserIdOrderByDueDateAsc(Long userId);
+    // Tasks changed after the (updatedAt, id) watermark and before the settle cutoff
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status, " +
+           "t.priority AS priority, t.dueDate AS dueDate, t.createdAt AS createdAt, t.updatedAt AS updatedAt, " +
+           "t.version AS version " +
+           "FROM Task t WHERE t.user.id = :userId " +
+           "AND (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterId)) " +
+           "AND t.updatedAt < :until " +
+           "ORDER BY t.updatedAt, t.id")
+    List<TaskSummary> findChangedSince(
+        @Param("userId") Long userId,
+        @Param("since") LocalDateTime since,
+        @Param("afterId") Long afterId,
+        @Param("until") LocalDateTime until,
+        Pageable pageable
+    );
     
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.dueDate < :today AND t.status != 'COMPLETED'")
-    List<Task> findOverdueTasks(@Param("userId") Long userId, @Param("today") LocalDate today);
+    // Ranked full-text matches on the generated search_vector column
+    // (PostgreSQL only), keyset-paginated on (rank desc, id). A null
+    // afterId starts from the best match.
+    @Query(value = "SELECT id, rank FROM (" +
+                   "SELECT t.id AS id, " +
+                   "CAST(ts_rank(t.search_vector, to_tsquery('english', :query)) AS double precision) AS rank " +
+                   "FROM tasks t " +
+                   "WHERE t.user_id = :userId AND t.search_vector @@ to_tsquery('english', :query)" +
+                   ") ranked " +
+                   "WHERE (CAST(:afterId AS bigint) IS NULL OR rank < :afterRank " +
+                   "OR (rank = :afterRank AND id > :afterId)) " +
+                   "ORDER BY rank DESC, id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<TaskSearchHit> searchRanked(
+        @Param("userId") Long userId,
+        @Param("query") String query,
+        @Param("afterRank") Double afterRank,
+        @Param("afterId") Long afterId,
+        @Param("limit") int limit
+    );
     
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.dueDate BETWEEN :startDate AND :endDate")
-    List<Task> findTasksDueBetween(
-        @Param("userId") Long userId, 
-        @Param("startDate") LocalDate startDate, 
-        @Param("endDate") LocalDate endDate
+    // Direct writes scoped to the owner; each returns the number of rows affected,
+    // so 0 means the task doesn't exist, belongs to someone else, or (when an
+    // expected version is given) has been changed since that version was read
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.id = :taskId AND t.user.id = :userId " +
+           "AND (:expectedVersion IS NULL OR t.version = :expectedVersion)")
+    int updateStatus(
+        @Param("taskId") Long taskId,
+        @Param("userId") Long userId,
+        @Param("status") Status status,
+        @Param("now") LocalDateTime now,
+        @Param("expectedVersion") Long expectedVersion
     );
     
+    // Partial update: null arguments leave the column unchanged
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET " +
+           "t.title = COALESCE(:title, t.title), " +
+           "t.description = COALESCE(:description, t.description), " +
+           "t.status = COALESCE(:status, t.status), " +
+           "t.priority = COALESCE(:priority, t.priority), " +
+           "t.dueDate = COALESCE(:dueDate, t.dueDate), " +
+           "t.updatedAt = :now, " +
+           "t.version = t.version + 1 " +
+           "WHERE t.id = :taskId AND t.user.id = :userId " +
+           "AND (:expectedVersion IS NULL OR t.version = :expectedVersion)")
+    int updateFields(
+        @Param("taskId") Long taskId,
+        @Param("userId") Long userId,
+        @Param("title") String title,
+        @Param("description") String description,
+        @Param("status") Status status,
+        @Param("priority") Priority priority,
+        @Param("dueDate") LocalDate dueDate,
+        @Param("now") LocalDateTime now,
+        @Param("expectedVersion") Long expectedVersion
+    );
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :taskId AND t.user.id = :userId AND t.overdue = :overdue")
+    int deleteByIdAndUserId(
+        @Param("taskId") Long taskId,
+        @Param("userId") Long userId,
+        @Param("overdue") boolean overdue
+    );
+    
+    // Conditional request support: read just enough to build the validators
+    @Query("SELECT t.version AS version, t.updatedAt AS updatedAt FROM Task t " +
+           "WHERE t.id = :taskId AND t.user.id = :userId")
+    Optional<TaskVersion> findVersion(@Param("taskId") Long taskId, @Param("userId") Long userId);
+    
+    boolean existsByIdAndUserId(Long taskId, Long userId);
+    
+    // overdue is included because the daily flip changes list contents without touching updatedAt;
+    // the latest tombstone lets Last-Modified move forward on deletes
+    @Query("SELECT COUNT(t) AS total, MAX(t.updatedAt) AS lastUpdated, " +
+           "COALESCE(SUM(CASE WHEN t.overdue = true THEN 1 ELSE 0 END), 0) AS overdue, " +
+           "(SELECT MAX(tb.deletedAt) FROM TaskTombstone tb WHERE tb.userId = :userId) AS lastDeleted " +
+           "FROM Task t WHERE t.user.id = :userId")
+    TaskListVersion findListVersion(@Param("userId") Long userId);
+    
     // Count queries
     long countByUserIdAndStatus(Long userId, Status status);
+    
+    // Per-status totals in one round trip (at most one row per status)
+    @Query("SELECT t.status AS status, COUNT(t) AS total FROM Task t WHERE t.user.id = :userId GROUP BY t.status")
+    List<StatusCount> countByStatus(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package dev.danieljones.taskapi.repository;
+
+// One ranked full-text match; the task itself is loaded separately
+public interface TaskSearchHit {
+    
+    Long getId();
+    
+    Double getRank();
+}
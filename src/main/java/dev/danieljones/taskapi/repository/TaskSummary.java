@@ -0,0 +1,29 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Status;
+
+// Read-only projection of a task's columns, without the owner association
+public interface TaskSummary {
+    
+    Long getId();
+    
+    String getTitle();
+    
+    String getDescription();
+    
+    Status getStatus();
+    
+    Priority getPriority();
+    
+    LocalDate getDueDate();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+    
+    Long getVersion();
+}
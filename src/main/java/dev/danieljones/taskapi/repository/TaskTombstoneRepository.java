@@ -0,0 +1,34 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import dev.danieljones.taskapi.model.TaskTombstone;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    // Tombstones after the (deletedAt, taskId) watermark and before the settle cutoff
+    @Query("SELECT t FROM TaskTombstone t WHERE t.userId = :userId " +
+           "AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.taskId > :afterId)) " +
+           "AND t.deletedAt < :until " +
+           "ORDER BY t.deletedAt, t.taskId")
+    List<TaskTombstone> findChanges(
+        @Param("userId") Long userId,
+        @Param("since") LocalDateTime since,
+        @Param("afterId") Long afterId,
+        @Param("until") LocalDateTime until,
+        Pageable pageable
+    );
+    
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,11 @@
+package dev.danieljones.taskapi.repository;
+
+import java.time.LocalDateTime;
+
+// Just enough of a task to answer a conditional GET: its ETag and Last-Modified
+public interface TaskVersion {
+    
+    Long getVersion();
+    
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,59 @@
+package dev.danieljones.taskapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+// Bounded (W-TinyLFU) cache of already-verified token claims, keyed by a SHA-256
+// digest of the token so raw tokens are never held in memory. Each entry expires
+// together with the token itself.
+class ClaimsCache {
+
+    private final Cache<String, Claims> cache;
+
+    ClaimsCache(int maxEntries) {
+        this.cache = maxEntries <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.writing((String key, Claims claims) ->
+                        Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+                .build();
+    }
+
+    Claims get(String token) {
+        if (cache == null) {
+            return null;
+        }
+        return cache.getIfPresent(digest(token));
+    }
+
+    void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (cache == null || expiration == null || !expiration.after(new Date())) {
+            return;
+        }
+        cache.put(digest(token), claims);
+    }
+
+    int size() {
+        return cache == null ? 0 : (int) cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
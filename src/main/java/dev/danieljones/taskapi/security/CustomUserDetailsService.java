@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import dev.danieljones.taskapi.config.DbConcurrencyLimiter;
 import dev.danieljones.taskapi.model.User;
 import dev.danieljones.taskapi.repository.UserRepository;
 
@@ -15,19 +16,23 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private DbConcurrencyLimiter dbConcurrencyLimiter;
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return userDetailsCache.get(username, this::loadFromRepository);
+    }
+    
+    // Cache misses run in the authentication filter, before the request holds a
+    // database permit, so the lookup takes one of its own
+    private UserPrincipal loadFromRepository(String username) {
+        User user = dbConcurrencyLimiter.call(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities("USER") // You can add roles here later
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return UserPrincipal.fromEntity(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package dev.danieljones.taskapi.security;
+
+import dev.danieljones.taskapi.exception.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// Writes errors raised in servlet filters, which GlobalExceptionHandler never
+// sees, in the same ErrorResponse shape and with the same Retry-After header
+@Component
+public class FilterErrorWriter {
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    public void write(HttpServletRequest request, HttpServletResponse response,
+                      HttpStatus status, String message, long retryAfterSeconds) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+            status.value(),
+            message,
+            LocalDateTime.now(),
+            "uri=" + request.getRequestURI()
+        );
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        jsonMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -1,10 +1,16 @@
 package dev.danieljones.taskapi.security;
 
+import dev.danieljones.taskapi.exception.ServiceUnavailableException;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +20,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,6 +32,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private FilterErrorWriter errorWriter;
+    
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+    
+    @PostConstruct
+    void init() {
+        validTokenTimer = verifyTimer("valid");
+        invalidTokenTimer = verifyTimer("invalid");
+    }
+    
+    private Timer verifyTimer(String result) {
+        return Timer.builder("taskapi.jwt.verify")
+            .description("JWT verification, including claims cache lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -34,8 +64,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             
             // Validate token and authenticate user
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Optional<Claims> claims = Optional.empty();
+            if (StringUtils.hasText(jwt)) {
+                long start = System.nanoTime();
+                claims = tokenProvider.verifyAndExtract(jwt);
+                (claims.isPresent() ? validTokenTimer : invalidTokenTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            
+            if (claims.isPresent()) {
+                String username = claims.get().getSubject();
                 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 
@@ -51,6 +89,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Set authentication in security context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (ServiceUnavailableException ex) {
+            // No database permit for the user lookup; same response as the handler gives
+            errorWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), 1);
+            return;
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
@@ -2,68 +2,103 @@ package dev.danieljones.taskapi.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
-    
+
     @Value("${jwt.expiration}")
     private long jwtExpiration;
-    
-    // Generate a secret key from the configured secret string
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+
+    // Built once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private ClaimsCache claimsCache;
+
+    public JwtTokenProvider() {}
+
+    // Used outside the Spring context (benchmarks)
+    JwtTokenProvider(String jwtSecret, long jwtExpiration, int claimsCacheMaxEntries) {
+        this.jwtSecret = jwtSecret;
+        this.jwtExpiration = jwtExpiration;
+        this.claimsCacheMaxEntries = claimsCacheMaxEntries;
+        init();
     }
-    
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache = new ClaimsCache(claimsCacheMaxEntries);
+    }
+
     // Generate JWT token for a user
     public String generateToken(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
-        
+
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
-    
-    // Get username from JWT token
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
 
-        return claims.getSubject();
-    }
-    
-    // Validate JWT token
-    public boolean validateToken(String token) {
+    // Verify the token and return its claims in a single pass.
+    // Tokens seen before are served from the cache without re-checking the signature.
+    public Optional<Claims> verifyAndExtract(String token) {
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            claimsCache.put(token, claims);
+            return Optional.of(claims);
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            log.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            log.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            log.debug("Unsupported JWT token");
+        } catch (JwtException ex) {
+            log.debug("Invalid JWT signature");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty");
+            log.debug("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    // Get username from JWT token
+    public String getUsernameFromToken(String token) {
+        return verifyAndExtract(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid or expired token"));
+    }
+
+    // Validate JWT token
+    public boolean validateToken(String token) {
+        return verifyAndExtract(token).isPresent();
     }
-}
\ No newline at end of file
+}
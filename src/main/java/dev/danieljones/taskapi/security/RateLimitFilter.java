@@ -0,0 +1,68 @@
+package dev.danieljones.taskapi.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+// Runs ahead of JwtAuthenticationFilter and rejects over-limit requests with
+// 429 before any user lookup or database work. Task requests are limited per
+// user, keyed by the verified token subject; the claims cache makes that
+// verification free for the JWT filter that follows. Requests without a
+// valid token, and logins, are limited per client IP. The per-username login
+// limit is applied in AuthController, where the body has been parsed.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private FilterErrorWriter errorWriter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI();
+        long waitNanos = 0;
+
+        if (path.startsWith("/api/tasks")) {
+            waitNanos = rateLimiter.tryAcquire(RateLimiter.Route.TASKS, taskKey(request));
+        } else if (path.equals("/api/auth/login") && "POST".equals(request.getMethod())) {
+            waitNanos = rateLimiter.tryAcquire(RateLimiter.Route.LOGIN_IP, request.getRemoteAddr());
+        }
+
+        if (waitNanos > 0) {
+            errorWriter.write(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests, please retry later", RateLimiter.retryAfterSeconds(waitNanos));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String taskKey(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            Optional<Claims> claims = tokenProvider.verifyAndExtract(bearerToken.substring(7));
+            if (claims.isPresent()) {
+                return "user:" + claims.get().getSubject();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
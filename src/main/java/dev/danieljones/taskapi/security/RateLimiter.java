@@ -0,0 +1,141 @@
+package dev.danieljones.taskapi.security;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.danieljones.taskapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Per-key token buckets for each rate-limited route. Buckets live in a
+// bounded Caffeine map and are dropped once idle for a full period. By then
+// they would have refilled anyway, so eviction never changes a decision.
+@Component
+public class RateLimiter {
+
+    public enum Route {
+        TASKS,       // /api/tasks/**, per user
+        LOGIN_IP,    // /api/auth/login, per client IP
+        LOGIN_USER   // /api/auth/login, failed attempts per username and client IP
+    }
+
+    record Policy(int limit, Duration period) {}
+
+    @Value("${taskapi.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskapi.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${taskapi.rate-limit.tasks.limit:100}")
+    private int tasksLimit;
+
+    @Value("${taskapi.rate-limit.tasks.period:1s}")
+    private Duration tasksPeriod;
+
+    @Value("${taskapi.rate-limit.login-ip.limit:20}")
+    private int loginIpLimit;
+
+    @Value("${taskapi.rate-limit.login-ip.period:1m}")
+    private Duration loginIpPeriod;
+
+    @Value("${taskapi.rate-limit.login-user.limit:5}")
+    private int loginUserLimit;
+
+    @Value("${taskapi.rate-limit.login-user.period:1m}")
+    private Duration loginUserPeriod;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Route, Policy> policies = new EnumMap<>(Route.class);
+    private final Map<Route, Cache<String, TokenBucket>> buckets = new EnumMap<>(Route.class);
+    private final Map<Route, Counter> rejections = new EnumMap<>(Route.class);
+
+    public RateLimiter() {}
+
+    // Used outside the Spring context (benchmarks)
+    RateLimiter(Map<Route, Policy> policies, long maxKeys, MeterRegistry meterRegistry) {
+        this.enabled = true;
+        this.maxKeys = maxKeys;
+        this.meterRegistry = meterRegistry;
+        this.policies.putAll(policies);
+        createBuckets();
+    }
+
+    @PostConstruct
+    void init() {
+        policies.put(Route.TASKS, new Policy(tasksLimit, tasksPeriod));
+        policies.put(Route.LOGIN_IP, new Policy(loginIpLimit, loginIpPeriod));
+        policies.put(Route.LOGIN_USER, new Policy(loginUserLimit, loginUserPeriod));
+        createBuckets();
+    }
+
+    private void createBuckets() {
+        policies.forEach((route, policy) -> {
+            buckets.put(route, Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(policy.period())
+                .build());
+            rejections.put(route, Counter.builder("taskapi.ratelimit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("route", route.name().toLowerCase())
+                .register(meterRegistry));
+        });
+    }
+
+    // Returns 0 if the request may proceed, otherwise the nanos until it may be retried
+    public long tryAcquire(Route route, String key) {
+        if (!enabled) {
+            return 0;
+        }
+
+        Policy policy = policies.get(route);
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(route)
+            .get(key, k -> new TokenBucket(policy.limit(), policy.period(), now))
+            .tryAcquire(now);
+
+        if (waitNanos > 0) {
+            rejections.get(route).increment();
+        }
+        return waitNanos;
+    }
+
+    // Reject if the key's bucket is empty, without taking a permit. Paired with
+    // tryAcquire on failure, so only failed attempts use up the budget.
+    public void checkAvailable(Route route, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        TokenBucket bucket = buckets.get(route).getIfPresent(key);
+        long waitNanos = bucket != null ? bucket.waitNanos(System.nanoTime()) : 0;
+        if (waitNanos > 0) {
+            rejections.get(route).increment();
+            throw new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    // Same as tryAcquire, for callers that surface the rejection as an exception
+    public void check(Route route, String key) {
+        long waitNanos = tryAcquire(route, key);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
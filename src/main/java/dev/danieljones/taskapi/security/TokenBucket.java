@@ -0,0 +1,41 @@
+package dev.danieljones.taskapi.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket in GCRA form. The only state is the theoretical
+// arrival time (TAT) of the next request, advanced with a CAS. A full bucket
+// allows a burst of `capacity` requests and refills one every period/capacity.
+final class TokenBucket {
+
+    private final long interval;
+    private final long burst;
+    private final AtomicLong tat;
+
+    TokenBucket(int capacity, Duration period, long nowNanos) {
+        this.interval = Math.max(1, period.toNanos() / capacity);
+        this.burst = interval * capacity;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    // Like tryAcquire, but only looks: no permit is taken
+    long waitNanos(long nowNanos) {
+        long next = Math.max(tat.get(), nowNanos) + interval;
+        return Math.max(0, next - burst - nowNanos);
+    }
+
+    // Returns 0 if a permit was taken, otherwise the nanos until one frees up
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + interval;
+            long waitNanos = next - burst - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.danieljones.taskapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Bounded (W-TinyLFU) cache of UserPrincipal snapshots by username, so an
+// authenticated request doesn't have to read the users table.
+// UserService evicts entries when a user is updated or deleted.
+@Component
+public class UserDetailsCache {
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.user-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserPrincipal> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Exposes hit/miss/eviction counts as cache.* meters tagged cache=userDetails
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    // Used when the username itself may have changed
+    public void evict(Long userId) {
+        cache.asMap().values().removeIf(principal -> principal.getId().equals(userId));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,77 @@
+package dev.danieljones.taskapi.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import dev.danieljones.taskapi.model.User;
+
+// Authenticated principal resolved once by JwtAuthenticationFilter.
+// Controllers get it through @AuthenticationPrincipal, so they never need
+// to re-parse the token or reload the user.
+public final class UserPrincipal implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("USER"));
+
+    private final Long id;
+    private final String username;
+    private final String password;
+
+    public UserPrincipal(Long id, String username, String password) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static UserPrincipal fromEntity(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserPrincipal[id=%d, username='%s']", id, username);
+    }
+}
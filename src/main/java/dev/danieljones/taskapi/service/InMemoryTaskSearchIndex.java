@@ -0,0 +1,133 @@
+package dev.danieljones.taskapi.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.danieljones.taskapi.dto.SearchCursor;
+import dev.danieljones.taskapi.model.Task;
+import dev.danieljones.taskapi.repository.TaskRepository;
+
+// In-process inverted index for databases without full-text search (H2 in
+// tests). A user's index is built from the database on their first search,
+// then kept current from committed TaskChangeEvents. Ranking follows the
+// PostgreSQL weights: a title word counts 1.0, a description word 0.4.
+@Component
+@ConditionalOnProperty(name = "taskapi.search.engine", havingValue = "memory")
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+    
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+    
+    private static final Comparator<Hit> BEST_FIRST =
+        Comparator.comparingDouble(Hit::rank).reversed().thenComparing(Hit::taskId);
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    private final Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+    
+    @Override
+    public List<Hit> search(Long userId, List<String> terms, SearchCursor after, int limit) {
+        List<Hit> hits = indexes.computeIfAbsent(userId, this::load).search(terms);
+        
+        return hits.stream()
+            .sorted(BEST_FIRST)
+            .filter(hit -> after == null || hit.rank() < after.rank()
+                || (hit.rank() == after.rank() && hit.taskId() > after.id()))
+            .limit(limit)
+            .toList();
+    }
+    
+    // Users that haven't searched yet have no index to update
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChange(TaskChangeEvent event) {
+        UserIndex index = indexes.get(event.userId());
+        if (index == null) {
+            return;
+        }
+        
+        if (event.task() == null) {
+            index.remove(event.taskId());
+        } else {
+            index.put(event.task());
+        }
+    }
+    
+    private UserIndex load(Long userId) {
+        UserIndex index = new UserIndex();
+        taskRepository.findByUserId(userId).forEach(index::put);
+        return index;
+    }
+    
+    private static final class UserIndex {
+        
+        // word -> task id -> weight of the word in that task
+        private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+        private final Map<Long, Set<String>> wordsByTask = new HashMap<>();
+        
+        synchronized void put(Task task) {
+            remove(task.getId());
+            
+            Map<String, Double> weights = new HashMap<>();
+            TaskSearchIndex.terms(task.getTitle()).forEach(word -> weights.merge(word, TITLE_WEIGHT, Double::sum));
+            TaskSearchIndex.terms(task.getDescription()).forEach(word -> weights.merge(word, DESCRIPTION_WEIGHT, Double::sum));
+            
+            weights.forEach((word, weight) ->
+                postings.computeIfAbsent(word, w -> new HashMap<>()).put(task.getId(), weight));
+            wordsByTask.put(task.getId(), weights.keySet());
+        }
+        
+        synchronized void remove(Long taskId) {
+            Set<String> words = wordsByTask.remove(taskId);
+            if (words == null) {
+                return;
+            }
+            for (String word : words) {
+                Map<Long, Double> tasks = postings.get(word);
+                tasks.remove(taskId);
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+        
+        // Tasks matching every term as a word prefix, with summed weights as rank
+        synchronized List<Hit> search(List<String> terms) {
+            Map<Long, Double> ranks = null;
+            for (String term : terms) {
+                Map<Long, Double> matches = new HashMap<>();
+                postings.subMap(term, true, term + Character.MAX_VALUE, false).values()
+                    .forEach(tasks -> tasks.forEach((taskId, weight) -> matches.merge(taskId, weight, Double::sum)));
+                
+                if (ranks == null) {
+                    ranks = matches;
+                } else {
+                    ranks.keySet().retainAll(matches.keySet());
+                    ranks.replaceAll((taskId, rank) -> rank + matches.get(taskId));
+                }
+                if (ranks.isEmpty()) {
+                    break;
+                }
+            }
+            
+            List<Hit> hits = new ArrayList<>();
+            if (ranks != null) {
+                ranks.forEach((taskId, rank) -> hits.add(new Hit(taskId, rank)));
+            }
+            return hits;
+        }
+    }
+}
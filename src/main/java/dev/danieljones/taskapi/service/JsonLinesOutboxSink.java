@@ -0,0 +1,65 @@
+package dev.danieljones.taskapi.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import dev.danieljones.taskapi.repository.OutboxEvent;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Appends each event as one JSON line to a local file. Meant for development
+// and for shipping with a log collector; the file is synced per batch so a
+// batch deleted from the outbox is on disk first.
+@Component
+@ConditionalOnProperty(name = "taskapi.outbox.sink", havingValue = "jsonl", matchIfMissing = true)
+public class JsonLinesOutboxSink implements OutboxSink {
+    
+    @Value("${taskapi.outbox.file:task-events.jsonl}")
+    private Path file;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            lines.append(jsonMapper.writeValueAsString(toLine(event))).append('\n');
+        }
+        
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC)) {
+            writer.write(lines.toString());
+        }
+    }
+    
+    private Map<String, Object> toLine(OutboxEvent event) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", event.id());
+        line.put("type", event.type());
+        line.put("userId", event.userId());
+        line.put("taskId", event.taskId());
+        line.put("createdAt", event.createdAt());
+        if (event.payload() != null) {
+            line.put("task", jsonMapper.readValue(event.payload(), JsonNode.class));
+        }
+        return line;
+    }
+}
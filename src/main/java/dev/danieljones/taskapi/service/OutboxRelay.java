@@ -0,0 +1,124 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.danieljones.taskapi.repository.OutboxEvent;
+import dev.danieljones.taskapi.repository.OutboxStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Drains task_outbox to the configured OutboxSink, oldest first. Rows are
+// deleted only after the sink accepted their batch, so delivery is
+// at-least-once: a crash between publish and delete resends that batch.
+// The relay pulls at the sink's pace and the table absorbs bursts; each poll
+// handles at most max-batches-per-poll batches, and a failing sink is retried
+// with exponential backoff instead of on every poll.
+@Component
+@ConditionalOnProperty(name = "taskapi.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    @Autowired
+    private OutboxStore outboxStore;
+    
+    @Autowired
+    private OutboxSink outboxSink;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${taskapi.outbox.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${taskapi.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+    
+    @Value("${taskapi.outbox.retry-initial:1s}")
+    private Duration retryInitial;
+    
+    @Value("${taskapi.outbox.retry-max:5m}")
+    private Duration retryMax;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter relayed;
+    private Counter failures;
+    
+    // Only touched by the scheduler thread
+    private Duration retryDelay;
+    private long retryAtNanos;
+    
+    @PostConstruct
+    void init() {
+        Gauge.builder("taskapi.outbox.backlog", backlog, AtomicLong::get)
+            .description("Outbox events waiting to be relayed")
+            .register(meterRegistry);
+        Gauge.builder("taskapi.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("Age of the oldest undelivered outbox event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        relayed = Counter.builder("taskapi.outbox.relayed")
+            .description("Outbox events delivered to the sink")
+            .register(meterRegistry);
+        failures = Counter.builder("taskapi.outbox.failures")
+            .description("Outbox batches the sink failed to accept")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${taskapi.outbox.poll-interval:1s}")
+    public void relay() {
+        if (retryDelay != null && System.nanoTime() - retryAtNanos < 0) {
+            updateBacklog();
+            return;
+        }
+        
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                List<OutboxEvent> batch = outboxStore.findBatch(batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                
+                outboxSink.publish(batch);
+                outboxStore.deleteAll(batch);
+                relayed.increment(batch.size());
+                retryDelay = null;
+                
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            failures.increment();
+            retryDelay = retryDelay == null ? retryInitial : min(retryDelay.multipliedBy(2), retryMax);
+            retryAtNanos = System.nanoTime() + retryDelay.toNanos();
+            log.warn("Outbox relay failed, retrying in {}", retryDelay, ex);
+        }
+        
+        updateBacklog();
+    }
+    
+    private void updateBacklog() {
+        LocalDateTime oldest = outboxStore.oldestCreatedAt();
+        backlog.set(oldest == null ? 0 : outboxStore.count());
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+    
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
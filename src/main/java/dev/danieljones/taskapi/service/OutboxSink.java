@@ -0,0 +1,13 @@
+package dev.danieljones.taskapi.service;
+
+import java.util.List;
+
+import dev.danieljones.taskapi.repository.OutboxEvent;
+
+// Destination for relayed outbox events. A batch counts as delivered only if
+// publish returns normally; on an exception the relay retries the same batch,
+// so implementations must tolerate seeing events more than once.
+public interface OutboxSink {
+    
+    void publish(List<OutboxEvent> events) throws Exception;
+}
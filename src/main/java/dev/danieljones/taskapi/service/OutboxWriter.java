@@ -0,0 +1,92 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.danieljones.taskapi.dto.TaskResponseDto;
+import dev.danieljones.taskapi.repository.OutboxEvent;
+import dev.danieljones.taskapi.repository.OutboxStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tools.jackson.databind.json.JsonMapper;
+
+// Writes every TaskChangeEvent to task_outbox inside the mutating transaction.
+// Events are only buffered while the service method runs; just before commit
+// the whole buffer goes out as one batched insert, so a batch of 500
+// operations costs the same single round trip as one update.
+@Component
+public class OutboxWriter {
+    
+    // The owner is identified by userId; the username isn't part of the record
+    private static final Set<String> PAYLOAD_FIELDS = payloadFields();
+    
+    @Autowired
+    private OutboxStore outboxStore;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxStore.insertAll(List.of(toOutboxEvent(event, LocalDateTime.now())));
+            return;
+        }
+        
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+    
+    private OutboxEvent toOutboxEvent(TaskChangeEvent event, LocalDateTime now) {
+        String payload = event.task() != null
+            ? jsonMapper.writeValueAsString(TaskResponseDto.fromEntity(event.task(), null).toFieldMap(PAYLOAD_FIELDS))
+            : null;
+        return new OutboxEvent(null, event.type().name(), event.userId(), event.taskId(), payload, now);
+    }
+    
+    private static Set<String> payloadFields() {
+        Set<String> fields = new HashSet<>(TaskResponseDto.FIELDS);
+        fields.remove("username");
+        return Set.copyOf(fields);
+    }
+    
+    private final class PendingEvents implements TransactionSynchronization {
+        
+        private final List<TaskChangeEvent> events = new ArrayList<>();
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush first so payloads carry the versions and timestamps being committed
+            entityManager.flush();
+            
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> rows = new ArrayList<>(events.size());
+            for (TaskChangeEvent event : events) {
+                rows.add(toOutboxEvent(event, now));
+            }
+            outboxStore.insertAll(rows);
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+        }
+    }
+}
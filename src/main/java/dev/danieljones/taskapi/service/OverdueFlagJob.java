@@ -0,0 +1,62 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.danieljones.taskapi.repository.OverdueStore;
+
+// Flips tasks to overdue when the date changes. Runs on an interval (and once
+// at startup) but only does work for a time zone whose local date moved on
+// since its last flip, so each zone is processed about once a day. The flip
+// is idempotent and recounts the zone's users, which also repairs any drift
+// in the per-user counters.
+@Component
+public class OverdueFlagJob {
+    
+    // Users without a zone; ConcurrentHashMap doesn't take null keys
+    private static final String DEFAULT_ZONE_KEY = "";
+    
+    @Autowired
+    private OverdueStore overdueStore;
+    
+    @Autowired
+    private OverdueTracker overdueTracker;
+    
+    @Autowired
+    private TaskQueryCache taskQueryCache;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Map<String, LocalDate> flippedOn = new ConcurrentHashMap<>();
+    
+    @Scheduled(fixedDelayString = "${taskapi.overdue.check-interval:15m}")
+    public void flipOverdueTasks() {
+        boolean flipped = false;
+        for (String timeZone : overdueStore.findTimeZones()) {
+            String key = timeZone != null ? timeZone : DEFAULT_ZONE_KEY;
+            LocalDate today = LocalDate.now(overdueTracker.zoneOf(timeZone));
+            if (today.equals(flippedOn.get(key))) {
+                continue;
+            }
+            
+            transactionTemplate.executeWithoutResult(status -> {
+                overdueStore.markOverdueInZone(timeZone, today);
+                overdueStore.recountZone(timeZone);
+            });
+            flippedOn.put(key, today);
+            flipped = true;
+        }
+        
+        // Cached overdue lists and stats predate the flip
+        if (flipped) {
+            taskQueryCache.invalidateAll();
+        }
+    }
+}
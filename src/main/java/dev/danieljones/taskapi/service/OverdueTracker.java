@@ -0,0 +1,166 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.danieljones.taskapi.model.Status;
+import dev.danieljones.taskapi.model.Task;
+import dev.danieljones.taskapi.model.User;
+import dev.danieljones.taskapi.repository.OverdueStore;
+import dev.danieljones.taskapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Keeps tasks.overdue and the per-user counter current as tasks are written.
+// Just before commit, each written task's due date and status are checked in
+// Java against the flag it was loaded with; SQL runs only for tasks whose
+// flag actually flips, plus one counter update per user whose count moved.
+// Most writes (no due date, completed, or due well away from today) cost
+// nothing extra.
+@Component
+public class OverdueTracker {
+    
+    // Local dates across all zones lie within a day of the UTC date; due
+    // dates outside that window are decided without looking up a zone
+    private static final ZoneId EARLIEST_ZONE = ZoneOffset.ofHours(-12);
+    private static final ZoneId LATEST_ZONE = ZoneOffset.ofHours(14);
+    
+    @Autowired
+    private OverdueStore overdueStore;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Zone for users without one; empty means the JVM default
+    @Value("${taskapi.overdue.default-zone:}")
+    private String defaultZoneId;
+    
+    private ZoneId defaultZone;
+    
+    @PostConstruct
+    void init() {
+        defaultZone = defaultZoneId.isBlank() ? ZoneId.systemDefault() : ZoneId.of(defaultZoneId);
+    }
+    
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges changes = new PendingChanges();
+            changes.add(event);
+            changes.apply();
+            return;
+        }
+        
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+    
+    // Unknown or missing zone ids fall back to the default zone
+    public ZoneId zoneOf(String timeZone) {
+        if (timeZone == null) {
+            return defaultZone;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException ex) {
+            return defaultZone;
+        }
+    }
+    
+    // Whether the task should be flagged now. The owner's zone is only needed
+    // for due dates within a day of today; it comes from the second-level
+    // cached User, so it normally costs no query.
+    private boolean isOverdue(Task task, Long userId) {
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate == null || task.getStatus() == Status.COMPLETED) {
+            return false;
+        }
+        if (!dueDate.isBefore(LocalDate.now(LATEST_ZONE))) {
+            return false;
+        }
+        if (dueDate.isBefore(LocalDate.now(EARLIEST_ZONE))) {
+            return true;
+        }
+        
+        String timeZone = userRepository.findById(userId).map(User::getTimeZone).orElse(null);
+        return dueDate.isBefore(LocalDate.now(zoneOf(timeZone)));
+    }
+    
+    private final class PendingChanges implements TransactionSynchronization {
+        
+        // Latest state of each written task, and the owner of each task
+        private final Map<Long, Task> written = new LinkedHashMap<>();
+        private final Map<Long, Long> owners = new HashMap<>();
+        private final Map<Long, Long> deltas = new LinkedHashMap<>();
+        
+        void add(TaskChangeEvent event) {
+            if (event.type() == TaskChangeEvent.Type.DELETED) {
+                written.remove(event.taskId());
+                if (event.wasOverdue()) {
+                    deltas.merge(event.userId(), -1L, Long::sum);
+                }
+            } else {
+                written.put(event.taskId(), event.task());
+                owners.put(event.taskId(), event.userId());
+            }
+        }
+        
+        void apply() {
+            Map<Long, List<Long>> toFlag = new HashMap<>();
+            Map<Long, List<Long>> toClear = new HashMap<>();
+            written.forEach((taskId, task) -> {
+                Long userId = owners.get(taskId);
+                boolean overdue = isOverdue(task, userId);
+                if (overdue != task.isOverdue()) {
+                    (overdue ? toFlag : toClear).computeIfAbsent(userId, id -> new ArrayList<>()).add(taskId);
+                }
+            });
+            
+            toFlag.forEach((userId, taskIds) ->
+                deltas.merge(userId, (long) overdueStore.setOverdue(taskIds, true), Long::sum));
+            toClear.forEach((userId, taskIds) ->
+                deltas.merge(userId, (long) -overdueStore.setOverdue(taskIds, false), Long::sum));
+            
+            deltas.forEach((userId, delta) -> {
+                if (delta != 0) {
+                    overdueStore.addToCount(userId, delta);
+                }
+            });
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush first so entity changes (batch writes) are on the rows the flag updates touch
+            entityManager.flush();
+            apply();
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OverdueTracker.this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package dev.danieljones.taskapi.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import dev.danieljones.taskapi.dto.SearchCursor;
+import dev.danieljones.taskapi.repository.TaskRepository;
+
+// Search backed by the tsvector column and its GIN index
+@Component
+@ConditionalOnProperty(name = "taskapi.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Override
+    public List<Hit> search(Long userId, List<String> terms, SearchCursor after, int limit) {
+        // Terms only hold letters and digits, so they can't inject tsquery syntax
+        String query = terms.stream()
+            .map(term -> term + ":*")
+            .collect(Collectors.joining(" & "));
+        
+        return taskRepository.searchRanked(
+                userId, query,
+                after != null ? after.rank() : null,
+                after != null ? after.id() : null,
+                limit)
+            .stream()
+            .map(hit -> new Hit(hit.getId(), hit.getRank()))
+            .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package dev.danieljones.taskapi.service;
+
+import dev.danieljones.taskapi.model.Task;
+
+// Published by TaskService for every write. Listeners that need the change to
+// be durable use @TransactionalEventListener. task is null for deletes, and
+// wasOverdue tells whether a deleted task was flagged overdue.
+public record TaskChangeEvent(Type type, Long userId, Long taskId, Task task, boolean wasOverdue) {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        COMPLETED,
+        DELETED
+    }
+    
+    public static TaskChangeEvent deleted(Long userId, Long taskId, boolean wasOverdue) {
+        return new TaskChangeEvent(Type.DELETED, userId, taskId, null, wasOverdue);
+    }
+    
+    public static TaskChangeEvent of(Type type, Task task, Long userId) {
+        return new TaskChangeEvent(type, userId, task.getId(), task, false);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Status;
+
+// Optional criteria for listing tasks; empty sets and null dates mean "any"
+public record TaskFilter(Set<Status> statuses, Set<Priority> priorities,
+                         LocalDate dueFrom, LocalDate dueTo, boolean overdue) {}
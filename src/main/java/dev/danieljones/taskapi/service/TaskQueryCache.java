@@ -0,0 +1,109 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+// Read-through cache of per-user list and count query results.
+//
+// Entries are keyed by the user's current generation. Every committed task
+// write moves that user's generation forward, so their older entries are never
+// read again and age out. Other users' entries are not touched. Generations
+// come from one global clock, so a generation that was evicted and recreated
+// can't reuse an old value.
+//
+// Cached values are shared between requests and must be treated as read-only.
+@Component
+public class TaskQueryCache {
+    
+    // Total weight is roughly the number of cached rows
+    @Value("${taskapi.query-cache.max-rows:500000}")
+    private long maxRows;
+    
+    @Value("${taskapi.query-cache.ttl:10m}")
+    private Duration ttl;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicLong clock = new AtomicLong();
+    private Cache<Long, Long> generations;
+    private Cache<Key, Object> results;
+    
+    @PostConstruct
+    void init() {
+        generations = Caffeine.newBuilder()
+            .expireAfterAccess(ttl)
+            .build();
+        results = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Key key, Object value) -> weigh(value))
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        
+        // Exposes hit/miss/eviction counts as cache.* meters tagged cache=taskQueries
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "taskQueries");
+    }
+    
+    // query must have value equality and capture every argument of the lookup
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Object query, Supplier<T> loader) {
+        Key key = new Key(userId, generation(userId), query);
+        return (T) results.get(key, k -> loader.get());
+    }
+    
+    // Bumped after commit: a bump before commit would let a concurrent read
+    // cache the old rows under the new generation
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChange(TaskChangeEvent event) {
+        invalidate(event.userId());
+    }
+    
+    public void invalidate(Long userId) {
+        generations.put(userId, clock.incrementAndGet());
+    }
+    
+    // Every user gets a fresh generation on their next lookup
+    public void invalidateAll() {
+        generations.invalidateAll();
+        results.invalidateAll();
+    }
+    
+    public CacheStats stats() {
+        return results.stats();
+    }
+    
+    // Roughly one unit per cached row; lists and pages count their rows
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> rows) {
+            return Math.max(1, rows.size());
+        }
+        if (value instanceof Slice<?> page) {
+            return Math.max(1, page.getNumberOfElements());
+        }
+        return 1;
+    }
+    
+    private long generation(Long userId) {
+        return generations.get(userId, id -> clock.incrementAndGet());
+    }
+    
+    private record Key(Long userId, long generation, Object query) {}
+}
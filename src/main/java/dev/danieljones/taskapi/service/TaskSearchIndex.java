@@ -0,0 +1,27 @@
+package dev.danieljones.taskapi.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import dev.danieljones.taskapi.dto.SearchCursor;
+
+// Finds a user's tasks by words in their title or description. Every query
+// term must match, as a prefix of a word. Hits are ordered by rank (best
+// first), then by id. The implementation is picked with taskapi.search.engine.
+public interface TaskSearchIndex {
+    
+    List<Hit> search(Long userId, List<String> terms, SearchCursor after, int limit);
+    
+    record Hit(Long taskId, double rank) {}
+    
+    // Split text into lower-case words; anything but letters and digits separates
+    static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .toList();
+    }
+}
@@ -1,29 +1,113 @@
 package dev.danieljones.taskapi.service;
 
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import dev.danieljones.taskapi.dto.BatchOperationType;
+import dev.danieljones.taskapi.dto.SearchCursor;
+import dev.danieljones.taskapi.dto.SyncToken;
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+import dev.danieljones.taskapi.exception.PreconditionFailedException;
 import dev.danieljones.taskapi.exception.ResourceNotFoundException;
+import dev.danieljones.taskapi.exception.SyncTokenExpiredException;
 import dev.danieljones.taskapi.model.Task;
+import dev.danieljones.taskapi.model.TaskTombstone;
 import dev.danieljones.taskapi.model.User;
 import dev.danieljones.taskapi.model.Status;
 import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.repository.OverdueStore;
+import dev.danieljones.taskapi.repository.StatusCount;
+import dev.danieljones.taskapi.repository.TaskListVersion;
 import dev.danieljones.taskapi.repository.TaskRepository;
+import dev.danieljones.taskapi.repository.TaskSpecifications;
+import dev.danieljones.taskapi.repository.TaskSummary;
+import dev.danieljones.taskapi.repository.TaskTombstoneRepository;
+import dev.danieljones.taskapi.repository.TaskVersion;
+import dev.danieljones.taskapi.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
+// Every public method is observed: a taskapi.tasks timer tagged with the
+// method name, plus a span when tracing is sampled.
+// Write transactions (including a whole /batch or import chunk) are bounded
+// by taskapi.tx.write-timeout-seconds, which the sync settle window relies on.
 @Service
-@Transactional
+@Transactional(timeoutString = "${taskapi.tx.write-timeout-seconds:20}")
+@Observed(name = "taskapi.tasks")
 public class TaskService {
     
     @Autowired
     private TaskRepository taskRepository;
     
-    // Create a new task
-    public Task createTask(Task task, User user) {
-        task.setUser(user);
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+    
+    @Autowired
+    private TaskQueryCache taskQueryCache;
+    
+    @Autowired
+    private OverdueStore overdueStore;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Changes younger than this aren't handed out to sync clients yet, so a
+    // transaction that commits out of timestamp order isn't skipped. A row's
+    // timestamp is taken inside its transaction, so the window has to be
+    // longer than any write transaction can run.
+    @Value("${taskapi.sync.settle-window:30s}")
+    private Duration syncSettleWindow;
+    
+    @Value("${taskapi.tx.write-timeout-seconds:20}")
+    private int writeTimeoutSeconds;
+    
+    @Value("${taskapi.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+    
+    @PostConstruct
+    void checkSyncSettleWindow() {
+        if (syncSettleWindow.compareTo(Duration.ofSeconds(writeTimeoutSeconds)) <= 0) {
+            throw new IllegalStateException("taskapi.sync.settle-window (" + syncSettleWindow
+                + ") must be longer than taskapi.tx.write-timeout-seconds (" + writeTimeoutSeconds + "s)");
+        }
+    }
+    
+    // Create a new task (the owner is attached by reference, no users lookup)
+    public Task createTask(Task task, Long userId) {
+        task.setUser(userRepository.getReferenceById(userId));
         
         // Set defaults if not provided
         if (task.getStatus() == null) {
@@ -33,36 +117,77 @@ public class TaskService {
             task.setPriority(Priority.MEDIUM);
         }
         
-        return taskRepository.save(task);
+        Task created = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, created, userId));
+        return created;
+    }
+    
+    // Get the user's tasks matching every given criterion, in one query.
+    // Cached reads run without a transaction, so a cache hit takes no connection.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Task> getUserTasksFiltered(Long userId, TaskFilter filter, Sort sort) {
+        return taskQueryCache.get(userId, Arrays.asList("filtered", filter, sort), () ->
+            taskRepository.findAll(matching(userId, filter).and(TaskSpecifications.orderedBy(sort)))
+        );
     }
     
-    // Get all tasks for a user
-    public List<Task> getUserTasks(Long userId) {
-        return taskRepository.findByUserId(userId);
+    // Get one keyset page of tasks after the given id, as projections
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<TaskSummary> getUserTasksPage(Long userId, TaskFilter filter, long afterId, int limit) {
+        return taskQueryCache.get(userId, Arrays.asList("page", filter, afterId, limit), () -> {
+            List<TaskSummary> rows = taskRepository.findBy(
+                matching(userId, filter).and(TaskSpecifications.idAfter(afterId)),
+                query -> query.as(TaskSummary.class).sortBy(Sort.by("id")).limit(limit + 1).all()
+            );
+            
+            boolean hasNext = rows.size() > limit;
+            return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, PageRequest.of(0, limit), hasNext);
+        });
     }
     
-    // Get all tasks with optional filters
-    public List<Task> getUserTasksFiltered(Long userId, Status status, Priority priority) {
-        // No filters - return all tasks
-        if (status == null && priority == null) {
-            return taskRepository.findByUserId(userId);
+    private Specification<Task> matching(Long userId, TaskFilter filter) {
+        return TaskSpecifications.ownedBy(userId)
+            .and(TaskSpecifications.statusIn(filter.statuses()))
+            .and(TaskSpecifications.priorityIn(filter.priorities()))
+            .and(TaskSpecifications.dueOnOrAfter(filter.dueFrom()))
+            .and(TaskSpecifications.dueOnOrBefore(filter.dueTo()))
+            .and(TaskSpecifications.overdue(filter.overdue()));
+    }
+    
+    // Search a user's tasks by title and description, best match first.
+    // Matching tasks are loaded with one query and returned in rank order.
+    @Transactional(readOnly = true)
+    public SearchResult searchTasks(Long userId, String query, SearchCursor after, int limit) {
+        List<String> terms = TaskSearchIndex.terms(query);
+        if (terms.isEmpty()) {
+            throw new InvalidTaskException("Search query must contain at least one word");
         }
         
-        // Both filters
-        if (status != null && priority != null) {
-            return taskRepository.findByUserIdAndStatusAndPriority(userId, status, priority);
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(userId, terms, after, limit + 1);
+        boolean hasMore = hits.size() > limit;
+        if (hasMore) {
+            hits = hits.subList(0, limit);
+        }
+        if (hits.isEmpty()) {
+            return new SearchResult(List.of(), null);
         }
         
-        // Status filter only
-        if (status != null) {
-            return taskRepository.findByUserIdAndStatus(userId, status);
+        Map<Long, Task> tasks = new HashMap<>();
+        List<Long> ids = hits.stream().map(TaskSearchIndex.Hit::taskId).toList();
+        for (Task task : taskRepository.findByUserIdAndIdIn(userId, ids)) {
+            tasks.put(task.getId(), task);
         }
         
-        // Priority filter only
-        return taskRepository.findByUserIdAndPriority(userId, priority);
+        TaskSearchIndex.Hit last = hits.get(hits.size() - 1);
+        SearchCursor next = hasMore ? new SearchCursor(last.rank(), last.taskId()) : null;
+        List<Task> ordered = hits.stream()
+            .map(hit -> tasks.get(hit.taskId()))
+            .filter(Objects::nonNull)
+            .toList();
+        return new SearchResult(ordered, next);
     }
     
-    // Get a specific task by ID
+    // Get a specific task by ID, scoped to its owner
     public Task getTaskById(Long taskId, Long userId) {
         return taskRepository.findByIdAndUserId(taskId, userId)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -70,24 +195,72 @@ public class TaskService {
             ));
     }
     
-    // Get overdue tasks for a user
-    public List<Task> getOverdueTasks(Long userId) {
-        return taskRepository.findOverdueTasks(userId, LocalDate.now());
-    }
-    
-    // Get tasks due within a date range
-    public List<Task> getTasksDueBetween(Long userId, LocalDate startDate, LocalDate endDate) {
-        return taskRepository.findTasksDueBetween(userId, startDate, endDate);
+    // Hand every task of the user to rowWriter in id order, one row at a time.
+    // Each task is detached once written, so the persistence context stays
+    // empty however many rows there are. Returns the number of tasks written.
+    @Transactional(readOnly = true)
+    public long exportTasks(Long userId, Consumer<Task> rowWriter) {
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamByUserId(userId)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                rowWriter.accept(task);
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        return count;
     }
     
-    // Update an existing task
-    public Task updateTask(Long taskId, Task updatedTask, User user) {
-        Task existingTask = taskRepository.findByIdAndUserId(taskId, user.getId())
+    // Get the current version and update time of a task, without loading it
+    @Transactional(readOnly = true)
+    public TaskVersion getTaskVersion(Long taskId, Long userId) {
+        return taskRepository.findVersion(taskId, userId)
             .orElseThrow(() -> new ResourceNotFoundException(
                 "Task not found with id: " + taskId
             ));
+    }
+    
+    // Get the fingerprint (count and latest update) of a user's tasks
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskListVersion getTaskListVersion(Long userId) {
+        return taskQueryCache.get(userId, "listVersion", () -> taskRepository.findListVersion(userId));
+    }
+    
+    // Update an existing task with a single UPDATE; only non-null fields change.
+    // The row is then read back for the response. A non-null expectedVersion
+    // makes the update conditional (optimistic locking, no row lock held).
+    public Task updateTask(Long taskId, Task updatedTask, Long userId, Long expectedVersion) {
+        int updated = taskRepository.updateFields(
+            taskId, userId,
+            updatedTask.getTitle(),
+            updatedTask.getDescription(),
+            updatedTask.getStatus(),
+            updatedTask.getPriority(),
+            updatedTask.getDueDate(),
+            LocalDateTime.now(),
+            expectedVersion
+        );
         
-        // Update fields
+        if (updated == 0) {
+            throw notUpdated(taskId, userId, expectedVersion);
+        }
+        Task task = getTaskById(taskId, userId);
+        eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, task, userId));
+        return task;
+    }
+    
+    // Explain why a conditional write touched no rows
+    private RuntimeException notUpdated(Long taskId, Long userId, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsByIdAndUserId(taskId, userId)) {
+            return new PreconditionFailedException(
+                "Task " + taskId + " has been modified since version " + expectedVersion
+            );
+        }
+        return new ResourceNotFoundException("Task not found with id: " + taskId);
+    }
+    
+    // Copy the non-null fields of a partial update onto a managed task
+    private void applyChanges(Task existingTask, Task updatedTask) {
         if (updatedTask.getTitle() != null) {
             existingTask.setTitle(updatedTask.getTitle());
         }
@@ -107,38 +280,244 @@ public class TaskService {
         if (updatedTask.getDueDate() != null) {
             existingTask.setDueDate(updatedTask.getDueDate());
         }
+    }
+    
+    // Mark task as completed with a single UPDATE, then read it back for the response
+    public Task completeTask(Long taskId, Long userId, Long expectedVersion) {
+        int updated = taskRepository.updateStatus(
+            taskId, userId, Status.COMPLETED, LocalDateTime.now(), expectedVersion
+        );
         
-        return taskRepository.save(existingTask);
+        if (updated == 0) {
+            throw notUpdated(taskId, userId, expectedVersion);
+        }
+        Task task = getTaskById(taskId, userId);
+        eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.COMPLETED, task, userId));
+        return task;
     }
     
-    // Mark task as completed
-    public Task completeTask(Long taskId, User user) {
-        Task task = getTaskById(taskId, user.getId());
-        task.setStatus(Status.COMPLETED);
-        return taskRepository.save(task);
+    // Delete a task with a single DELETE, leaving a tombstone for sync clients.
+    // The DELETE is conditional on the overdue flag so the event can say
+    // whether the overdue counter drops; only an overdue task needs a second try.
+    public void deleteTask(Long taskId, Long userId) {
+        boolean wasOverdue = false;
+        if (taskRepository.deleteByIdAndUserId(taskId, userId, false) == 0) {
+            if (taskRepository.deleteByIdAndUserId(taskId, userId, true) == 0) {
+                throw new ResourceNotFoundException("Task not found with id: " + taskId);
+            }
+            wasOverdue = true;
+        }
+        taskTombstoneRepository.save(new TaskTombstone(taskId, userId, LocalDateTime.now()));
+        eventPublisher.publishEvent(TaskChangeEvent.deleted(userId, taskId, wasOverdue));
     }
     
-    // Delete a task
-    public void deleteTask(Long taskId, User user) {
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId())
-            .orElseThrow(() -> new ResourceNotFoundException(
-                "Task not found with id: " + taskId
-            ));
+    // Get tasks changed and deleted since the token, at most limit of each.
+    // The returned token continues exactly where this page stopped.
+    @Transactional(readOnly = true)
+    public TaskChanges getChangesSince(Long userId, SyncToken since, boolean initial, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!initial && since.deletedSince().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException("Sync token has expired, a full sync is required");
+        }
+        
+        LocalDateTime until = now.minus(syncSettleWindow);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        
+        List<TaskSummary> changed = taskRepository.findChangedSince(
+            userId, since.taskSince(), since.taskAfterId(), until, page
+        );
+        List<TaskTombstone> deleted = taskTombstoneRepository.findChanges(
+            userId, since.deletedSince(), since.deletedAfterId(), until, page
+        );
+        
+        boolean moreChanged = changed.size() > limit;
+        boolean moreDeleted = deleted.size() > limit;
+        if (moreChanged) {
+            changed = changed.subList(0, limit);
+        }
+        if (moreDeleted) {
+            deleted = deleted.subList(0, limit);
+        }
+        
+        // A drained stream moves its watermark up to the cutoff, so the token
+        // keeps advancing (and stays within tombstone retention) while idle
+        LocalDateTime taskSince = later(since.taskSince(), until);
+        long taskAfterId = 0L;
+        if (moreChanged) {
+            TaskSummary last = changed.get(changed.size() - 1);
+            taskSince = last.getUpdatedAt();
+            taskAfterId = last.getId();
+        }
+        
+        LocalDateTime deletedSince = later(since.deletedSince(), until);
+        long deletedAfterId = 0L;
+        if (moreDeleted) {
+            TaskTombstone last = deleted.get(deleted.size() - 1);
+            deletedSince = last.getDeletedAt();
+            deletedAfterId = last.getTaskId();
+        }
+        
+        SyncToken next = new SyncToken(taskSince, taskAfterId, deletedSince, deletedAfterId);
+        return new TaskChanges(changed, deleted, next, moreChanged || moreDeleted);
+    }
+    
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    // Apply a batch of operations in one transaction. Referenced tasks are loaded
+    // with a single query and the resulting inserts/updates/deletes are flushed
+    // as JDBC batches at commit. Outcomes are returned in request order; an
+    // outcome without a task means the referenced task wasn't found.
+    public List<BatchOutcome> applyBatch(List<BatchOperation> operations, Long userId) {
+        Set<Long> referencedIds = new HashSet<>();
+        for (BatchOperation operation : operations) {
+            if (operation.type() != BatchOperationType.CREATE) {
+                referencedIds.add(operation.taskId());
+            }
+        }
+        
+        Map<Long, Task> existing = new HashMap<>();
+        if (!referencedIds.isEmpty()) {
+            for (Task task : taskRepository.findByUserIdAndIdIn(userId, referencedIds)) {
+                existing.put(task.getId(), task);
+            }
+        }
+        
+        User owner = userRepository.getReferenceById(userId);
+        List<Task> created = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
+        List<BatchOutcome> outcomes = new ArrayList<>(operations.size());
         
-        taskRepository.delete(task);
+        for (BatchOperation operation : operations) {
+            Task task;
+            switch (operation.type()) {
+                case CREATE -> {
+                    task = operation.data();
+                    task.setUser(owner);
+                    if (task.getStatus() == null) {
+                        task.setStatus(Status.TODO);
+                    }
+                    if (task.getPriority() == null) {
+                        task.setPriority(Priority.MEDIUM);
+                    }
+                    created.add(task);
+                }
+                case UPDATE -> {
+                    task = existing.get(operation.taskId());
+                    if (task != null) {
+                        applyChanges(task, operation.data());
+                    }
+                }
+                case COMPLETE -> {
+                    task = existing.get(operation.taskId());
+                    if (task != null) {
+                        task.setStatus(Status.COMPLETED);
+                    }
+                }
+                case DELETE -> {
+                    // Later operations in the same batch no longer see a deleted task
+                    task = existing.remove(operation.taskId());
+                    if (task != null) {
+                        deleted.add(task);
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown operation: " + operation.type());
+            }
+            outcomes.add(new BatchOutcome(operation, task));
+        }
+        
+        taskRepository.saveAll(created);
+        taskRepository.deleteAll(deleted);
+        
+        LocalDateTime now = LocalDateTime.now();
+        taskTombstoneRepository.saveAll(deleted.stream()
+            .map(task -> new TaskTombstone(task.getId(), userId, now))
+            .toList());
+        
+        // Ids of created tasks are known after saveAll
+        for (BatchOutcome outcome : outcomes) {
+            if (outcome.found()) {
+                eventPublisher.publishEvent(changeEvent(outcome, userId));
+            }
+        }
+        return outcomes;
     }
     
-    // Get task statistics for a user
+    // Insert one chunk of imported tasks in its own transaction. The inserts go
+    // out as JDBC batches on flush, and the persistence context is cleared
+    // afterwards so a long import doesn't accumulate managed entities.
+    public int importTasks(List<Task> tasks, Long userId) {
+        User owner = userRepository.getReferenceById(userId);
+        for (Task task : tasks) {
+            task.setUser(owner);
+            if (task.getStatus() == null) {
+                task.setStatus(Status.TODO);
+            }
+            if (task.getPriority() == null) {
+                task.setPriority(Priority.MEDIUM);
+            }
+        }
+        
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        for (Task task : tasks) {
+            eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, task, userId));
+        }
+        entityManager.clear();
+        return tasks.size();
+    }
+    
+    private static TaskChangeEvent changeEvent(BatchOutcome outcome, Long userId) {
+        Task task = outcome.task();
+        return switch (outcome.operation().type()) {
+            case CREATE -> TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, task, userId);
+            case UPDATE -> TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, task, userId);
+            case COMPLETE -> TaskChangeEvent.of(TaskChangeEvent.Type.COMPLETED, task, userId);
+            case DELETE -> TaskChangeEvent.deleted(userId, task.getId(), task.isOverdue());
+        };
+    }
+    
+    // Get task statistics for a user. The overdue count is the counter kept
+    // by OverdueTracker, a single-row read.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public TaskStats getTaskStats(Long userId) {
-        long totalTasks = taskRepository.countByUserIdAndStatus(userId, null);
-        long todoTasks = taskRepository.countByUserIdAndStatus(userId, Status.TODO);
-        long inProgressTasks = taskRepository.countByUserIdAndStatus(userId, Status.IN_PROGRESS);
-        long completedTasks = taskRepository.countByUserIdAndStatus(userId, Status.COMPLETED);
-        long overdueTasks = taskRepository.findOverdueTasks(userId, LocalDate.now()).size();
+        return taskQueryCache.get(userId, "stats", () -> countTasks(userId));
+    }
+    
+    private TaskStats countTasks(Long userId) {
+        long totalTasks = 0;
+        long todoTasks = 0;
+        long inProgressTasks = 0;
+        long completedTasks = 0;
+        long overdueTasks = overdueStore.count(userId);
+        
+        for (StatusCount row : taskRepository.countByStatus(userId)) {
+            totalTasks += row.getTotal();
+            
+            switch (row.getStatus()) {
+                case TODO -> todoTasks = row.getTotal();
+                case IN_PROGRESS -> inProgressTasks = row.getTotal();
+                case COMPLETED -> completedTasks = row.getTotal();
+            }
+        }
         
         return new TaskStats(totalTasks, todoTasks, inProgressTasks, completedTasks, overdueTasks);
     }
     
+    // next is null on the last page
+    public record SearchResult(List<Task> tasks, SearchCursor next) {}
+    
+    public record TaskChanges(List<TaskSummary> changed, List<TaskTombstone> deleted,
+                              SyncToken next, boolean hasMore) {}
+    
+    // A single batch item; data is the requested task fields for CREATE/UPDATE
+    public record BatchOperation(BatchOperationType type, Long taskId, Task data) {}
+    
+    public record BatchOutcome(BatchOperation operation, Task task) {
+        public boolean found() { return task != null; }
+    }
+    
     // Inner class for stats (you could also make this a separate DTO)
     public static class TaskStats {
         private long totalTasks;
@@ -0,0 +1,30 @@
+package dev.danieljones.taskapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.danieljones.taskapi.repository.TaskTombstoneRepository;
+
+// Drops tombstones past the retention window. Sync tokens older than the
+// window are answered with 410, so nothing still needs these rows.
+@Component
+public class TombstonePurgeJob {
+    
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+    
+    @Value("${taskapi.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+    
+    @Scheduled(cron = "${taskapi.sync.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+}
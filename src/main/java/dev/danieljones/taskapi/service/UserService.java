@@ -1,13 +1,17 @@
 package dev.danieljones.taskapi.service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import dev.danieljones.taskapi.config.DbConcurrencyLimiter;
 import dev.danieljones.taskapi.exception.UserAlreadyExistsException;
 import dev.danieljones.taskapi.exception.UserNotFoundException;
 import dev.danieljones.taskapi.model.User;
 import dev.danieljones.taskapi.repository.UserRepository;
+import dev.danieljones.taskapi.security.UserDetailsCache;
 
 @Service
 public class UserService {
@@ -16,9 +20,17 @@ public class UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private DbConcurrencyLimiter dbConcurrencyLimiter;
     
-    public User registerUser(String username, String email, String password) {
+    // Hashing runs on the password-hashing pool; the returned future completes with the saved user.
+    // The request's database permit is released while it waits, so the save takes its own.
+    public CompletableFuture<User> registerUser(String username, String email, String password, String timeZone) {
         // Check if user already exists
         if (userRepository.existsByUsername(username)) {
             throw new UserAlreadyExistsException("Username already taken");
@@ -29,8 +41,12 @@ public class UserService {
         }
         
         // Create new user with hashed password
-        User user = new User(username, email, passwordEncoder.encode(password));
-        return userRepository.save(user);
+        return passwordHashingService.encode(password)
+            .thenApply(hash -> {
+                User user = new User(username, email, hash);
+                user.setTimeZone(timeZone);
+                return dbConcurrencyLimiter.call(() -> userRepository.save(user));
+            });
     }
     
     public User findByUsername(String username) {
@@ -43,7 +59,34 @@ public class UserService {
             .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
     
-    public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+    // Persist changes to an existing user and drop its cached principal
+    public User updateUser(User user) {
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getId());
+        return saved;
+    }
+    
+    public void deleteUser(Long id) {
+        User user = findById(id);
+        userRepository.delete(user);
+        userDetailsCache.evict(id);
+    }
+    
+    // Check credentials off the request thread. Completes empty on a wrong password;
+    // on success, a hash made with an outdated BCrypt cost is replaced transparently.
+    public CompletableFuture<Optional<User>> authenticate(String username, String rawPassword) {
+        User user = findByUsername(username);
+        
+        return passwordHashingService.verify(rawPassword, user.getPassword())
+            .thenApply(verification -> {
+                if (!verification.matches()) {
+                    return Optional.empty();
+                }
+                if (verification.upgradedHash() != null) {
+                    user.setPassword(verification.upgradedHash());
+                    return Optional.of(dbConcurrencyLimiter.call(() -> updateUser(user)));
+                }
+                return Optional.of(user);
+            });
     }
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- Serves the status/priority filters on GET /api/tasks and the stats aggregate
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_priority ON tasks (user_id, status, priority);
+
+-- Serves due-date range and overdue lookups, and doubles as the user_id FK index
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks (user_id, due_date);
@@ -0,0 +1,2 @@
+-- Optimistic locking version for tasks, also served as the task ETag
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
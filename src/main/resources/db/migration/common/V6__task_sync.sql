@@ -0,0 +1,11 @@
+-- Incremental sync: changed tasks are found by (updated_at, id), deleted ones
+-- through tombstones that are purged after a retention period
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated ON tasks (user_id, updated_at, id);
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id     BIGINT PRIMARY KEY,
+    user_id     BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_deleted ON task_tombstones (user_id, deleted_at, task_id);
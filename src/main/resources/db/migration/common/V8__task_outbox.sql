@@ -0,0 +1,10 @@
+-- Transactional outbox: one row per task mutation, written in the mutating
+-- transaction and deleted by the relay once delivered
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type  VARCHAR(20) NOT NULL,
+    user_id     BIGINT NOT NULL,
+    task_id     BIGINT NOT NULL,
+    payload     TEXT,
+    created_at  TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,16 @@
+-- Overdue is materialized instead of compared against today's date on every
+-- read: tasks.overdue is set when a task's own write makes it overdue and by
+-- the daily flip per time zone; users.overdue_tasks counts the flagged tasks.
+-- A null time_zone means the server's default zone.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS overdue BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS overdue_tasks BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill against the database date; the first scheduled flip after startup
+-- corrects users whose zone is on a different date
+UPDATE tasks SET overdue = TRUE
+WHERE due_date < CURRENT_DATE AND status <> 'COMPLETED';
+
+UPDATE users SET overdue_tasks = (
+    SELECT COUNT(*) FROM tasks t WHERE t.user_id = users.id AND t.overdue
+);
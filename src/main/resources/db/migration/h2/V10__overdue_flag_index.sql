@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; index the flag alongside the owner instead
+CREATE INDEX IF NOT EXISTS idx_tasks_overdue_user ON tasks (user_id, overdue);
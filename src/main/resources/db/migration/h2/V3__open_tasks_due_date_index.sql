@@ -0,0 +1,3 @@
+-- H2 has no partial indexes; idx_tasks_user_due_date already covers the same
+-- lookups there. Kept so migration versions line up across vendors.
+SELECT 1;
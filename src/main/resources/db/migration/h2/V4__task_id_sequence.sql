@@ -0,0 +1,4 @@
+-- Task ids come from a pooled sequence so Hibernate can batch inserts.
+-- INCREMENT BY must match allocationSize on Task.id. The identity default on
+-- the column is left in place; it is unused once ids are always supplied.
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 51 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- H2 has no tsvector; search runs on the in-memory index there
+-- (taskapi.search.engine=memory). Kept so migration versions line up.
+SELECT 1;
@@ -0,0 +1,3 @@
+-- Overdue lists and recounts only ever touch flagged rows
+CREATE INDEX IF NOT EXISTS idx_tasks_overdue_user ON tasks (user_id)
+    WHERE overdue;
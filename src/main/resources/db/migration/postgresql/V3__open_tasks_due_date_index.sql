@@ -0,0 +1,3 @@
+-- Overdue checks only ever look at tasks that aren't completed
+CREATE INDEX IF NOT EXISTS idx_tasks_open_user_due_date ON tasks (user_id, due_date)
+    WHERE status <> 'COMPLETED';
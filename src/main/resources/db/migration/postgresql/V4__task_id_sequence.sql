@@ -0,0 +1,9 @@
+-- Task ids come from a pooled sequence so Hibernate can batch inserts.
+-- INCREMENT BY must match allocationSize on Task.id.
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+
+-- Start a full pool above any existing id, whichever end of the pool the
+-- optimizer treats the sequence value as
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 51, false);
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
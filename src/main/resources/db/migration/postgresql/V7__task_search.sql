@@ -0,0 +1,8 @@
+-- Full-text search over title (weight A) and description (weight B). The
+-- column is maintained by PostgreSQL itself, so writes need no extra code.
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_tasks_search ON tasks USING GIN (search_vector);
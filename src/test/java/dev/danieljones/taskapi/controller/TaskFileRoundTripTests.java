@@ -0,0 +1,136 @@
+package dev.danieljones.taskapi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.danieljones.taskapi.dto.TaskRequestDto;
+import dev.danieljones.taskapi.exception.InvalidTaskException;
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Status;
+import dev.danieljones.taskapi.model.Task;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+class TaskFileRoundTripTests {
+
+	// Configured like the application's mapper, which ignores unknown properties
+	private final JsonMapper jsonMapper = JsonMapper.builder()
+		.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+		.build();
+
+	@Test
+	void csvRoundTripsQuotesCommasAndLineBreaks() throws IOException {
+		List<Task> tasks = sampleTasks();
+
+		List<TaskRequestDto> imported = importAll(TaskFileFormat.CSV, export(TaskFileFormat.CSV, tasks));
+
+		assertMatches(tasks, imported);
+	}
+
+	@Test
+	void ndjsonRoundTripsTheSameTasks() throws IOException {
+		List<Task> tasks = sampleTasks();
+
+		List<TaskRequestDto> imported = importAll(TaskFileFormat.NDJSON, export(TaskFileFormat.NDJSON, tasks));
+
+		assertMatches(tasks, imported);
+	}
+
+	@Test
+	void csvWithByteOrderMarkIsRead() throws IOException {
+		List<Task> tasks = sampleTasks();
+		byte[] bom = "\uFEFF".getBytes(StandardCharsets.UTF_8);
+		byte[] exported = export(TaskFileFormat.CSV, tasks);
+		byte[] withBom = new byte[bom.length + exported.length];
+		System.arraycopy(bom, 0, withBom, 0, bom.length);
+		System.arraycopy(exported, 0, withBom, bom.length, exported.length);
+
+		assertMatches(tasks, importAll(TaskFileFormat.CSV, withBom));
+	}
+
+	@Test
+	void csvWithoutTitleHeaderIsRejected() {
+		byte[] file = "Buy milk,TODO,HIGH\r\nWalk dog,DONE,LOW\r\n".getBytes(StandardCharsets.UTF_8);
+		TaskImportReader reader = reader(TaskFileFormat.CSV, file);
+
+		assertThrows(InvalidTaskException.class, reader::next);
+	}
+
+	@Test
+	void oversizedRecordIsReportedAndSkipped() throws IOException {
+		String file = "title,description\r\n"
+			+ "\"never closed," + "x".repeat(TaskImportReader.MAX_RECORD_CHARS) + "\r\n"
+			+ "Next,fine\r\n";
+		TaskImportReader reader = reader(TaskFileFormat.CSV, file.getBytes(StandardCharsets.UTF_8));
+
+		TaskImportReader.ImportRow tooLong = reader.next();
+		TaskImportReader.ImportRow next = reader.next();
+
+		assertNull(tooLong.task());
+		assertNotNull(tooLong.error());
+		assertEquals("Next", next.task().getTitle());
+		assertNull(reader.next());
+	}
+
+	private List<Task> sampleTasks() {
+		Task quoted = new Task("Say \"hi\", then leave", "line one\r\nline two, with a comma", Priority.HIGH);
+		quoted.setId(1L);
+		quoted.setStatus(Status.IN_PROGRESS);
+		quoted.setDueDate(LocalDate.of(2026, 3, 1));
+
+		Task plain = new Task("Plain", null, Priority.LOW);
+		plain.setId(2L);
+
+		return List.of(quoted, plain);
+	}
+
+	private byte[] export(TaskFileFormat format, List<Task> tasks) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TaskExportWriter writer = new TaskExportWriter(format, out, jsonMapper, "alice");
+		writer.writeHeader();
+		tasks.forEach(writer::write);
+		writer.finish();
+		return out.toByteArray();
+	}
+
+	private List<TaskRequestDto> importAll(TaskFileFormat format, byte[] file) throws IOException {
+		TaskImportReader reader = reader(format, file);
+		List<TaskRequestDto> rows = new ArrayList<>();
+		TaskImportReader.ImportRow row;
+		while ((row = reader.next()) != null) {
+			assertNull(row.error(), row.error());
+			rows.add(row.task());
+		}
+		return rows;
+	}
+
+	private TaskImportReader reader(TaskFileFormat format, byte[] file) {
+		return new TaskImportReader(format, new ByteArrayInputStream(file), jsonMapper);
+	}
+
+	private static void assertMatches(List<Task> expected, List<TaskRequestDto> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Task task = expected.get(i);
+			TaskRequestDto row = actual.get(i);
+			assertEquals(task.getTitle(), row.getTitle());
+			assertEquals(task.getDescription(), row.getDescription());
+			assertEquals(task.getStatus(), row.getStatus());
+			assertEquals(task.getPriority(), row.getPriority());
+			assertEquals(task.getDueDate(), row.getDueDate());
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package dev.danieljones.taskapi.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class TaskIndexPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void statusAndPriorityFilterUsesCompositeIndex() {
+		String plan = explain(
+			"SELECT * FROM tasks WHERE user_id = 1 AND status = 'TODO' AND priority = 'HIGH'");
+
+		assertTrue(plan.contains("idx_tasks_user_status_priority"), plan);
+	}
+
+	@Test
+	void dueDateRangeUsesUserDueDateIndex() {
+		String plan = explain(
+			"SELECT * FROM tasks WHERE user_id = 1 AND due_date BETWEEN DATE '2026-01-01' AND DATE '2026-02-01'");
+
+		assertTrue(plan.contains("idx_tasks_user_due_date"), plan);
+	}
+
+	@Test
+	void overdueLookupDoesNotScanTable() {
+		String plan = explain(
+			"SELECT * FROM tasks WHERE user_id = 1 AND due_date < DATE '2026-01-01' AND status <> 'COMPLETED'");
+
+		assertTrue(plan.contains("idx_tasks_user"), plan);
+		assertTrue(!plan.contains("tablescan"), plan);
+	}
+
+	@Test
+	void overdueFlagLookupUsesOverdueIndex() {
+		String plan = explain(
+			"SELECT * FROM tasks WHERE user_id = 1 AND overdue = TRUE");
+
+		assertTrue(plan.contains("idx_tasks_overdue_user"), plan);
+	}
+
+	private String explain(String sql) {
+		List<String> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+		return String.join("\n", rows).toLowerCase();
+	}
+
+}
@@ -0,0 +1,67 @@
+package dev.danieljones.taskapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+	private static final long START = TimeUnit.SECONDS.toNanos(100);
+	private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+	// 5 permits per second: a burst of 5, then one every 200ms
+	private final TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(1), START);
+
+	@Test
+	void fullBucketAllowsBurstOfCapacity() {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryAcquire(START), "permit " + i);
+		}
+
+		assertEquals(INTERVAL, bucket.tryAcquire(START));
+	}
+
+	@Test
+	void emptyBucketRefillsOnePermitPerInterval() {
+		drain();
+
+		assertEquals(1, bucket.tryAcquire(START + INTERVAL - 1));
+		assertEquals(0, bucket.tryAcquire(START + INTERVAL));
+		assertEquals(INTERVAL, bucket.tryAcquire(START + INTERVAL));
+		assertEquals(0, bucket.tryAcquire(START + 2 * INTERVAL));
+	}
+
+	@Test
+	void idleBucketRefillsOnlyUpToCapacity() {
+		drain();
+
+		long later = START + TimeUnit.MINUTES.toNanos(1);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryAcquire(later), "permit " + i);
+		}
+		assertEquals(INTERVAL, bucket.tryAcquire(later));
+	}
+
+	@Test
+	void waitNanosDoesNotTakePermits() {
+		for (int i = 0; i < 10; i++) {
+			assertEquals(0, bucket.waitNanos(START));
+		}
+		drain();
+
+		assertEquals(INTERVAL, bucket.waitNanos(START));
+		assertEquals(INTERVAL, bucket.waitNanos(START));
+		assertEquals(INTERVAL, bucket.tryAcquire(START));
+		assertEquals(0, bucket.tryAcquire(START + INTERVAL));
+	}
+
+	private void drain() {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryAcquire(START));
+		}
+	}
+
+}
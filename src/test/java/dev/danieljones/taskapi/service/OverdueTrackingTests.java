@@ -0,0 +1,143 @@
+package dev.danieljones.taskapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import dev.danieljones.taskapi.dto.BatchOperationType;
+import dev.danieljones.taskapi.model.Priority;
+import dev.danieljones.taskapi.model.Task;
+import dev.danieljones.taskapi.model.User;
+import dev.danieljones.taskapi.repository.UserRepository;
+
+// Not @Transactional: the flag and counter are written just before commit,
+// so every service call has to commit for real
+@SpringBootTest
+class OverdueTrackingTests {
+
+	private static final LocalDate PAST = LocalDate.now().minusDays(10);
+	private static final LocalDate FUTURE = LocalDate.now().plusDays(10);
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private OverdueFlagJob overdueFlagJob;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void creatingTaskDueInThePastFlagsItAndCountsIt() {
+		Long userId = newUser(null);
+
+		Task task = taskService.createTask(task(PAST), userId);
+
+		assertTrue(isOverdue(task.getId()));
+		assertEquals(1, overdueCount(userId));
+	}
+
+	@Test
+	void completingOverdueTaskClearsFlagAndCount() {
+		Long userId = newUser(null);
+		Task task = taskService.createTask(task(PAST), userId);
+
+		taskService.completeTask(task.getId(), userId, null);
+
+		assertFalse(isOverdue(task.getId()));
+		assertEquals(0, overdueCount(userId));
+	}
+
+	@Test
+	void movingDueDateIntoThePastFlagsTask() {
+		Long userId = newUser(null);
+		Task task = taskService.createTask(task(FUTURE), userId);
+		assertFalse(isOverdue(task.getId()));
+
+		taskService.updateTask(task.getId(), task(PAST), userId, null);
+
+		assertTrue(isOverdue(task.getId()));
+		assertEquals(1, overdueCount(userId));
+	}
+
+	@Test
+	void deletingTasksSinglyOnlyCountsOverdueOnes() {
+		Long userId = newUser(null);
+		Task overdue = taskService.createTask(task(PAST), userId);
+		Task upcoming = taskService.createTask(task(FUTURE), userId);
+		assertEquals(1, overdueCount(userId));
+
+		taskService.deleteTask(upcoming.getId(), userId);
+		assertEquals(1, overdueCount(userId));
+
+		taskService.deleteTask(overdue.getId(), userId);
+		assertEquals(0, overdueCount(userId));
+	}
+
+	@Test
+	void deletingOverdueTasksInBatchDropsCount() {
+		Long userId = newUser(null);
+		Task first = taskService.createTask(task(PAST), userId);
+		Task second = taskService.createTask(task(PAST), userId);
+		Task upcoming = taskService.createTask(task(FUTURE), userId);
+		assertEquals(2, overdueCount(userId));
+
+		taskService.applyBatch(List.of(
+			new TaskService.BatchOperation(BatchOperationType.DELETE, first.getId(), null),
+			new TaskService.BatchOperation(BatchOperationType.DELETE, second.getId(), null),
+			new TaskService.BatchOperation(BatchOperationType.DELETE, upcoming.getId(), null)
+		), userId);
+
+		assertEquals(0, overdueCount(userId));
+	}
+
+	@Test
+	void flipJobFlagsTasksThatBecameDueAndRepairsCount() {
+		// A zone no other test uses, so the job hasn't flipped it yet today
+		Long userId = newUser("Pacific/Chatham");
+		Task task = taskService.createTask(task(FUTURE), userId);
+
+		// As if the date had moved past the due date, with a drifted counter
+		jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE id = ?", PAST, task.getId());
+		jdbcTemplate.update("UPDATE users SET overdue_tasks = 5 WHERE id = ?", userId);
+
+		overdueFlagJob.flipOverdueTasks();
+
+		assertTrue(isOverdue(task.getId()));
+		assertEquals(1, overdueCount(userId));
+	}
+
+	private Long newUser(String timeZone) {
+		String name = "overdue-" + UUID.randomUUID().toString().substring(0, 8);
+		User user = new User(name, name + "@example.com", "not-a-real-hash");
+		user.setTimeZone(timeZone);
+		return userRepository.save(user).getId();
+	}
+
+	private static Task task(LocalDate dueDate) {
+		Task task = new Task("Task due " + dueDate, null, Priority.MEDIUM);
+		task.setDueDate(dueDate);
+		return task;
+	}
+
+	private boolean isOverdue(Long taskId) {
+		return jdbcTemplate.queryForObject("SELECT overdue FROM tasks WHERE id = ?", Boolean.class, taskId);
+	}
+
+	private long overdueCount(Long userId) {
+		return jdbcTemplate.queryForObject("SELECT overdue_tasks FROM users WHERE id = ?", Long.class, userId);
+	}
+
+}